@@ -0,0 +1,61 @@
+package graph;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.*;
+
+/***
+ * Fixed-size bit set that many threads can update concurrently.
+ * <br>
+ * One bit per index packed into a long[]; {@link #testAndSet(int)} is a single atomic OR on the word, so a
+ * parallel traversal can claim a vertex without locks and with 1/64th of the memory of a boolean[] or AtomicIntegerArray.
+ * <br>
+ * Space complexity: N / 8 bytes
+ */
+public final class AtomicBitSet {
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] words;
+    private final int size;
+
+    public AtomicBitSet(int size) {
+        this.size = size;
+        this.words = new long[(size + 63) >>> 6];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean get(int i) {
+        return ((long) WORDS.getAcquire(words, i >>> 6) & (1L << i)) != 0;
+    }
+
+    public void set(int i) {
+        WORDS.getAndBitwiseOr(words, i >>> 6, 1L << i);
+    }
+
+    /***
+     * Atomically sets bit i
+     * @return true if this call changed the bit (it was clear before), false if it was already set
+     */
+    public boolean testAndSet(int i) {
+        long mask = 1L << i;
+        int w = i >>> 6;
+        if (((long) WORDS.getAcquire(words, w) & mask) != 0) return false; // cheap read before the atomic write
+        return ((long) WORDS.getAndBitwiseOr(words, w, mask) & mask) == 0;
+    }
+
+    /***
+     * Clears every bit. Not safe to call while other threads are updating the set.
+     */
+    public void clear() {
+        Arrays.fill(words, 0);
+    }
+
+    public int cardinality() {
+        int count = 0;
+        for (long w : words) count += Long.bitCount(w);
+        return count;
+    }
+}
@@ -1,7 +1,8 @@
 package graph;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Queue;
 
@@ -44,29 +45,28 @@ public class BFS {
      *   <li><a href="https://leetcode.com/problems/open-the-lock/">752. Open the Lock</a> *(state-graph BFS over combinations)*</li>
      *   <li><a href="https://leetcode.com/problems/perfect-squares/">279. Perfect Squares</a> *(shortest path in number state space)*</li>
      * </ul>
+     * <p>
+     * For large graphs use {@link #fullBfs(CSRGraph)}, or {@link ParallelBFS} to expand each level on all cores.
      * @param adjList Represents the graph as an adjacency list
      * @return List of vertices in the breadth first search
      */
     public static List<Integer> bfsFromStart(List<List<Integer>> adjList, int start, boolean[] visited) {
         List<Integer> traversal = new ArrayList<>();
 
-        Queue<Integer> queue = new LinkedList<>();
+        Queue<Integer> queue = new ArrayDeque<>();
 
         queue.add(start);
         visited[start] = true;
 
         while(!queue.isEmpty()) {
             int curr = queue.poll();
-            if(visited[curr]) {
-                continue;
-            }
             traversal.add(curr);
 
             for(int i : adjList.get(curr)) {
                 if(!visited[i]) {
                     queue.add(i);
+                    visited[i] = true;
                 }
-                visited[i] = true;
             }
         }
 
@@ -85,4 +85,108 @@ public class BFS {
 
         return traversal;
     }
+
+    /***
+     * Breadth first search over all components of a CSR graph.
+     * <p>
+     * The returned array doubles as the queue: vertices are appended at the tail and polled from the head,
+     * so apart from the visited array and the result nothing is allocated.
+     *
+     * @param graph graph in compressed sparse row form
+     * @return vertices in breadth first order
+     */
+    public static int[] fullBfs(CSRGraph graph) {
+        int n = graph.vertexCount();
+        int[] offsets = graph.offsets, targets = graph.targets;
+        int[] order = new int[n];
+        boolean[] visited = new boolean[n];
+        int head = 0, tail = 0;
+
+        for (int s = 0; s < n; s++) {
+            if (visited[s]) continue;
+            visited[s] = true;
+            order[tail++] = s;
+
+            while (head < tail) {
+                int u = order[head++];
+                for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                    int v = targets[e];
+                    if (!visited[v]) {
+                        visited[v] = true;
+                        order[tail++] = v;
+                    }
+                }
+            }
+        }
+
+        return order;
+    }
+
+    /***
+     * Same traversal as {@link #fullBfs(CSRGraph)}, reading the edges straight from a memory-mapped graph file
+     */
+    public static int[] fullBfs(MappedGraph graph) {
+        int n = graph.vertexCount();
+        int[] order = new int[n];
+        boolean[] visited = new boolean[n];
+        int head = 0, tail = 0;
+
+        for (int s = 0; s < n; s++) {
+            if (visited[s]) continue;
+            visited[s] = true;
+            order[tail++] = s;
+
+            while (head < tail) {
+                int u = order[head++];
+                for (long e = graph.offset(u), end = graph.offset(u + 1); e < end; e++) {
+                    int v = graph.target(e);
+                    if (!visited[v]) {
+                        visited[v] = true;
+                        order[tail++] = v;
+                    }
+                }
+            }
+        }
+
+        return order;
+    }
+
+    /***
+     * Multi-source BFS: enqueue all the sources at distance 0 and expand from there.
+     * dist[v] is the number of edges from the nearest source, and pathTo(v) starts at that source.
+     *
+     * @param graph   graph in compressed sparse row form
+     * @param sources starting vertices
+     * @return hop distances and predecessors (source field is -1)
+     */
+    public static ShortestPaths multiSourceBfs(CSRGraph graph, int[] sources) {
+        int n = graph.vertexCount();
+        int[] offsets = graph.offsets, targets = graph.targets;
+        long[] dist = new long[n];
+        int[] pred = new int[n];
+        Arrays.fill(dist, ShortestPaths.UNREACHABLE);
+        Arrays.fill(pred, -1);
+
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
+        for (int s : sources) {
+            if (dist[s] == 0) continue;
+            dist[s] = 0;
+            queue[tail++] = s;
+        }
+
+        while (head < tail) {
+            int u = queue[head++];
+            for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                int v = targets[e];
+                if (dist[v] == ShortestPaths.UNREACHABLE) {
+                    dist[v] = dist[u] + 1;
+                    pred[v] = u;
+                    queue[tail++] = v;
+                }
+            }
+        }
+
+        return new ShortestPaths(-1, dist, pred);
+    }
 }
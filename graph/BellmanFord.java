@@ -1,6 +1,7 @@
 package graph;
 
 import java.util.*;
+import java.util.stream.IntStream;
 
 /**
  * Link: <a href="https://cp-algorithms.com/graph/bellman_ford.html">CP algorithm link</a><br>
@@ -39,9 +40,9 @@ public class BellmanFord {
     /**
      * Edge representation for weighted graphs.
      */
-    static class Edge {
+    public static class Edge {
         int from, to, weight;
-        Edge(int from, int to, int weight) {
+        public Edge(int from, int to, int weight) {
             this.from = from;
             this.to = to;
             this.weight = weight;
@@ -84,4 +85,208 @@ public class BellmanFord {
 
         return dist;
     }
+
+    /**
+     * Shortest paths plus, when one is reachable from the source, a negative cycle.
+     */
+    public static final class Result {
+        public final ShortestPaths paths;
+        /** vertices of one negative cycle in edge order (c[0]→c[1]→...→c[0]); empty if there is none */
+        public final int[] negativeCycle;
+
+        Result(ShortestPaths paths, int[] negativeCycle) {
+            this.paths = paths;
+            this.negativeCycle = negativeCycle;
+        }
+
+        public boolean hasNegativeCycle() {
+            return negativeCycle.length > 0;
+        }
+    }
+
+    /**
+     * Queue-based Bellman–Ford (SPFA) with the Small Label First heuristic.
+     * <p>
+     * Only vertices whose distance just improved are re-scanned, kept in a deque where a vertex whose new
+     * distance is below the distance of the current front is pushed to the front (SLF), which processes
+     * promising vertices first and cuts re-relaxations. cnt[v] is the number of edges on the current path to v;
+     * reaching n edges proves a negative cycle, which is then read off the predecessor array.
+     * <p>
+     * Time complexity: O(V * E) worst case, typically close to O(E), Space complexity: O(V)
+     *
+     * @param graph weighted CSR graph (negative weights allowed)
+     * @param src   source vertex
+     * @return distances (long, no overflow for int weights), predecessors and a negative cycle if one is reachable
+     */
+    public static Result spfa(CSRGraph graph, int src) {
+        int n = graph.vertexCount();
+        int[] offsets = graph.offsets, targets = graph.targets;
+        long[] dist = new long[n];
+        int[] pred = new int[n];
+        int[] cnt = new int[n];
+        Arrays.fill(dist, ShortestPaths.UNREACHABLE);
+        Arrays.fill(pred, -1);
+        dist[src] = 0;
+
+        // circular deque; every vertex is in it at most once, so n + 1 slots are enough
+        int cap = n + 1;
+        int[] deque = new int[cap];
+        boolean[] inQueue = new boolean[n];
+        int head = 0, size = 0;
+        deque[0] = src;
+        size = 1;
+        inQueue[src] = true;
+
+        while (size > 0) {
+            int u = deque[head];
+            head = head + 1 == cap ? 0 : head + 1;
+            size--;
+            inQueue[u] = false;
+            long du = dist[u];
+
+            for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                int v = targets[e];
+                long nd = du + graph.weight(e);
+                if (nd >= dist[v]) continue;
+
+                dist[v] = nd;
+                pred[v] = u;
+                cnt[v] = cnt[u] + 1;
+                if (cnt[v] >= n) {
+                    return new Result(new ShortestPaths(src, dist, pred), findPredecessorCycle(pred, v));
+                }
+                if (inQueue[v]) continue;
+
+                inQueue[v] = true;
+                if (size > 0 && nd < dist[deque[head]]) {
+                    head = head == 0 ? cap - 1 : head - 1;
+                    deque[head] = v;
+                } else {
+                    int tail = head + size;
+                    deque[tail >= cap ? tail - cap : tail] = v;
+                }
+                size++;
+            }
+        }
+
+        return new Result(new ShortestPaths(src, dist, pred), new int[0]);
+    }
+
+    /**
+     * Parallel Bellman–Ford over an edge list.
+     * <p>
+     * Edges are grouped by target once, then every round computes the new distance of each vertex from the previous
+     * round's distances of its in-neighbours (Jacobi style). Each vertex is written by exactly one thread, so the rounds
+     * run on the common ForkJoinPool without locks or atomics. A round that changes nothing ends the search; a change
+     * in round n means a reachable negative cycle.
+     * <p>
+     * Time complexity: O(V * E) work in the worst case split across cores, Space complexity: O(V + E)
+     *
+     * @param n     number of vertices
+     * @param edges weighted directed edges
+     * @param src   source vertex
+     */
+    public static Result parallelBellmanFord(int n, EdgeList edges, int src) {
+        // in-edges: the "targets" of this graph are the sources of the original edges
+        CSRGraph in = CSRGraph.fromEdges(n, edges.to, edges.from, edges.weights, edges.size(), true);
+        int[] offsets = in.offsets, sources = in.targets;
+
+        long[] cur = new long[n];
+        long[] next = new long[n];
+        int[] pred = new int[n];
+        Arrays.fill(cur, ShortestPaths.UNREACHABLE);
+        Arrays.fill(pred, -1);
+        cur[src] = 0;
+
+        int chunk = Math.max(1024, n / (8 * Runtime.getRuntime().availableProcessors()) + 1);
+        int chunks = (n + chunk - 1) / chunk;
+        boolean[] changed = new boolean[chunks];
+
+        for (int round = 1; round <= 2 * n; round++) {
+            final long[] prev = cur, out = next;
+            IntStream.range(0, chunks).parallel().forEach(c -> {
+                boolean any = false;
+                for (int v = c * chunk, end = Math.min(n, (c + 1) * chunk); v < end; v++) {
+                    long best = prev[v];
+                    for (int e = offsets[v], eEnd = offsets[v + 1]; e < eEnd; e++) {
+                        long du = prev[sources[e]];
+                        if (du == ShortestPaths.UNREACHABLE) continue;
+                        long nd = du + in.weight(e);
+                        if (nd < best) {
+                            best = nd;
+                            pred[v] = sources[e];
+                        }
+                    }
+                    any |= best != prev[v];
+                    out[v] = best;
+                }
+                changed[c] = any;
+            });
+            cur = out;
+            next = prev;
+
+            boolean any = false;
+            for (int c = 0; c < chunks; c++) any |= changed[c];
+            if (!any) return new Result(new ShortestPaths(src, cur, pred), new int[0]);
+
+            if (round >= n) {
+                // distances still improving after n - 1 rounds: a negative cycle exists; the predecessor
+                // graph contains it once enough rounds have run, so keep relaxing until it shows up
+                int[] cycle = findPredecessorCycle(pred, -1);
+                if (cycle.length > 0) return new Result(new ShortestPaths(src, cur, pred), cycle);
+            }
+        }
+        throw new IllegalStateException("negative cycle detected but not found in the predecessor graph");
+    }
+
+    public static Result spfa(int n, List<Edge> edges, int src) {
+        return spfa(CSRGraph.fromEdgeList(n, toEdgeList(edges), true), src);
+    }
+
+    public static Result parallelBellmanFord(int n, List<Edge> edges, int src) {
+        return parallelBellmanFord(n, toEdgeList(edges), src);
+    }
+
+    private static EdgeList toEdgeList(List<Edge> edges) {
+        EdgeList list = new EdgeList(edges.size(), true);
+        for (Edge e : edges) list.add(e.from, e.to, e.weight);
+        return list;
+    }
+
+    /**
+     * Finds a cycle in the predecessor graph (every vertex points to its pred). Any such cycle has negative total weight.
+     * @param start vertex to walk back from first, or -1 to scan all vertices
+     * @return cycle vertices in edge order, or an empty array if the predecessor graph is acyclic
+     */
+    private static int[] findPredecessorCycle(int[] pred, int start) {
+        int n = pred.length;
+        if (start >= 0) {
+            // n steps back from a vertex whose path has n edges must end inside the cycle
+            int x = start;
+            for (int i = 0; i < n && x != -1; i++) x = pred[x];
+            if (x != -1) return collectCycle(pred, x);
+        }
+
+        // 0 = unseen, 1 = on the current walk, 2 = finished
+        byte[] state = new byte[n];
+        for (int s = 0; s < n; s++) {
+            int x = s;
+            while (x != -1 && state[x] == 0) {
+                state[x] = 1;
+                x = pred[x];
+            }
+            if (x != -1 && state[x] == 1) return collectCycle(pred, x);
+            for (int y = s; y != -1 && state[y] == 1; y = pred[y]) state[y] = 2;
+        }
+        return new int[0];
+    }
+
+    private static int[] collectCycle(int[] pred, int onCycle) {
+        int length = 1;
+        for (int x = pred[onCycle]; x != onCycle; x = pred[x]) length++;
+        int[] cycle = new int[length];
+        // pred points backwards along the edges, so fill from the end
+        for (int x = onCycle, i = length - 1; i >= 0; x = pred[x], i--) cycle[i] = x;
+        return cycle;
+    }
 }
@@ -0,0 +1,204 @@
+package graph;
+
+import java.util.*;
+
+/***
+ * Compressed Sparse Row (CSR) graph — a compact, read-only adjacency structure on primitive arrays.
+ * <br>
+ * The out-neighbours of vertex u are targets[offsets[u] .. offsets[u + 1] - 1]. The edge stored at position e
+ * has weight weights[e] (or longWeights[e] when the weights do not fit in an int). Both weight arrays are null for
+ * unweighted graphs, whose edges all have weight 1, so every shortest-path engine counts hops on them.
+ * Undirected graphs store every edge in both directions.
+ * <br>
+ * Time complexity: O(V + E) to build (counting sort by source vertex), Space complexity: 4 * (V + 1) + 4 * E bytes plus 4 or 8 bytes per edge for weights
+ * <br><br>
+ * Compared to List&lt;List&lt;Integer&gt;&gt;:
+ * <ul>
+ *     <li>No boxed Integer per edge and no ArrayList per vertex</li>
+ *     <li>A neighbour scan reads one contiguous slice of an int[] instead of chasing pointers</li>
+ *     <li>Building keeps the order of neighbours of every vertex, so traversals visit vertices in the same order</li>
+ * </ul>
+ */
+public final class CSRGraph {
+    public final int[] offsets;
+    public final int[] targets;
+    public final int[] weights;
+    public final long[] longWeights;
+
+    CSRGraph(int[] offsets, int[] targets, int[] weights, long[] longWeights) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.longWeights = longWeights;
+    }
+
+    public int vertexCount() {
+        return offsets.length - 1;
+    }
+
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    public int degree(int u) {
+        return offsets[u + 1] - offsets[u];
+    }
+
+    public boolean isWeighted() {
+        return weights != null || longWeights != null;
+    }
+
+    /***
+     * Weight of the edge stored at position e (1 for unweighted graphs)
+     */
+    public long weight(int e) {
+        if (weights != null) return weights[e];
+        if (longWeights != null) return longWeights[e];
+        return 1;
+    }
+
+    /***
+     * Returns the reverse graph (every edge u→v becomes v→u, weights kept).
+     * The in-neighbours of v in this graph are the out-neighbours of v in the transpose.
+     */
+    public CSRGraph transpose() {
+        int n = vertexCount();
+        int[] tOffsets = new int[n + 1];
+        for (int v : targets) tOffsets[v + 1]++;
+        for (int v = 0; v < n; v++) tOffsets[v + 1] += tOffsets[v];
+
+        int[] cursor = Arrays.copyOf(tOffsets, n);
+        int[] tTargets = new int[targets.length];
+        int[] tWeights = weights == null ? null : new int[targets.length];
+        long[] tLongWeights = longWeights == null ? null : new long[targets.length];
+        for (int u = 0; u < n; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int te = cursor[targets[e]]++;
+                tTargets[te] = u;
+                if (tWeights != null) tWeights[te] = weights[e];
+                if (tLongWeights != null) tLongWeights[te] = longWeights[e];
+            }
+        }
+        return new CSRGraph(tOffsets, tTargets, tWeights, tLongWeights);
+    }
+
+    /***
+     * Converts back to the adjacency list shape used by BFS, DFS and the topological sorts (weights are dropped)
+     */
+    public List<List<Integer>> toAdjacencyList() {
+        int n = vertexCount();
+        List<List<Integer>> adj = new ArrayList<>(n);
+        for (int u = 0; u < n; u++) {
+            List<Integer> out = new ArrayList<>(degree(u));
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) out.add(targets[e]);
+            adj.add(out);
+        }
+        return adj;
+    }
+
+    /***
+     * Builds a graph from parallel edge arrays
+     * @param n        number of vertices (0 to n-1)
+     * @param from     source of every edge
+     * @param to       target of every edge
+     * @param weights  weight of every edge, or null for an unweighted graph
+     * @param m        number of edges to read from the arrays
+     * @param directed if false, every edge is stored in both directions
+     */
+    public static CSRGraph fromEdges(int n, int[] from, int[] to, int[] weights, int m, boolean directed) {
+        int edgeCount = directed ? m : 2 * m;
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < m; i++) {
+            offsets[from[i] + 1]++;
+            if (!directed) offsets[to[i] + 1]++;
+        }
+        for (int u = 0; u < n; u++) offsets[u + 1] += offsets[u];
+
+        int[] cursor = Arrays.copyOf(offsets, n);
+        int[] targets = new int[edgeCount];
+        int[] w = weights == null ? null : new int[edgeCount];
+        for (int i = 0; i < m; i++) {
+            int e = cursor[from[i]]++;
+            targets[e] = to[i];
+            if (w != null) w[e] = weights[i];
+            if (!directed) {
+                e = cursor[to[i]]++;
+                targets[e] = from[i];
+                if (w != null) w[e] = weights[i];
+            }
+        }
+        return new CSRGraph(offsets, targets, w, null);
+    }
+
+    public static CSRGraph fromEdgeList(int n, EdgeList edges, boolean directed) {
+        return fromEdges(n, edges.from, edges.to, edges.weights, edges.size(), directed);
+    }
+
+    /***
+     * Builds an unweighted graph from the adjacency list shape used by BFS, DFS and the topological sorts
+     * @param adjList adjList.get(u) contains the vertices u points to
+     */
+    public static CSRGraph fromAdjacencyList(List<List<Integer>> adjList) {
+        int n = adjList.size();
+        int[] offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) offsets[u + 1] = offsets[u] + adjList.get(u).size();
+
+        int[] targets = new int[offsets[n]];
+        for (int u = 0; u < n; u++) {
+            int e = offsets[u];
+            for (int v : adjList.get(u)) targets[e++] = v;
+        }
+        return new CSRGraph(offsets, targets, null, null);
+    }
+
+    /***
+     * Builds a weighted graph from the adjacency list shape used by PrimMST
+     * @param adjList adjList.get(u) contains the (v, weight) edges leaving u
+     */
+    public static CSRGraph fromWeightedAdjacencyList(List<List<PrimMST.Edge>> adjList) {
+        int n = adjList.size();
+        int[] offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) offsets[u + 1] = offsets[u] + adjList.get(u).size();
+
+        int[] targets = new int[offsets[n]];
+        int[] weights = new int[offsets[n]];
+        for (int u = 0; u < n; u++) {
+            int e = offsets[u];
+            for (PrimMST.Edge edge : adjList.get(u)) {
+                targets[e] = edge.to;
+                weights[e++] = edge.weight;
+            }
+        }
+        return new CSRGraph(offsets, targets, weights, null);
+    }
+
+    /***
+     * Builds a weighted graph from a dense adjacency matrix
+     * @param matrix matrix[u][v] = weight of edge (u→v)
+     * @param noEdge value marking a missing edge (-1 for Dijkstra, Integer.MAX_VALUE for Floyd–Warshall)
+     */
+    public static CSRGraph fromAdjacencyMatrix(int[][] matrix, int noEdge) {
+        int n = matrix.length;
+        int[] offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            int deg = 0;
+            for (int v = 0; v < n; v++) {
+                if (u != v && matrix[u][v] != noEdge) deg++;
+            }
+            offsets[u + 1] = offsets[u] + deg;
+        }
+
+        int[] targets = new int[offsets[n]];
+        int[] weights = new int[offsets[n]];
+        for (int u = 0; u < n; u++) {
+            int e = offsets[u];
+            for (int v = 0; v < n; v++) {
+                if (u != v && matrix[u][v] != noEdge) {
+                    targets[e] = v;
+                    weights[e++] = matrix[u][v];
+                }
+            }
+        }
+        return new CSRGraph(offsets, targets, weights, null);
+    }
+}
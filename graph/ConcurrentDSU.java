@@ -0,0 +1,137 @@
+package graph;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/***
+ * Lock-free Disjoint Set Union for many threads (Jayanti–Tarjan style concurrent union-find).
+ * <br>
+ * Same operations as {@link DSU}, but every method can be called concurrently without locks:
+ * <ul>
+ *     <li><b>find(x):</b> iterative, with path halving done by compare-and-set (a failed CAS just means another
+ *     thread already shortened the path)</li>
+ *     <li><b>union(x, y):</b> links one root under the other with a single CAS on the parent array and retries if
+ *     the root changed in the meantime</li>
+ *     <li><b>unionAll(u, v):</b> unions a whole batch of edges on the common ForkJoinPool</li>
+ * </ul>
+ *
+ * Linking:
+ * <ul>
+ *     <li>Union by size needs two writes (parent and size) and cannot be done with one CAS, so roots are linked by a
+ *     fixed pseudo-random priority instead: the root with the lower priority goes under the other one.
+ *     Priorities strictly increase along parent pointers, so concurrent links can never form a cycle, and random
+ *     priorities keep the trees O(log N) deep in expectation.</li>
+ * </ul>
+ *
+ * Complexity:
+ * <ul>
+ *     <li>Expected O(log N) per operation in the worst case, close to O(α(N)) in practice thanks to path halving</li>
+ * </ul>
+ */
+public class ConcurrentDSU {
+    private final AtomicIntegerArray parent;
+    private final AtomicInteger sets;
+
+    /***
+     * Initializes DSU with n elements (0 to n-1)
+     * @param n number of elements
+     */
+    public ConcurrentDSU(int n) {
+        parent = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++) parent.set(i, i);
+        sets = new AtomicInteger(n);
+    }
+
+    public int size() {
+        return parent.length();
+    }
+
+    /***
+     * Finds the current representative (root) of the set containing x.
+     * Under concurrent unions the root may change right after this returns; use {@link #connected(int, int)} to compare sets.
+     */
+    public int find(int x) {
+        while (true) {
+            int p = parent.get(x);
+            if (p == x) return x;
+            int gp = parent.get(p);
+            if (p != gp) parent.compareAndSet(x, p, gp); // path halving
+            x = gp;
+        }
+    }
+
+    /***
+     * Unites the sets containing x and y
+     * @return true if this call merged two different sets, false if they were already connected
+     */
+    public boolean union(int x, int y) {
+        while (true) {
+            x = find(x);
+            y = find(y);
+            if (x == y) return false;
+
+            // link the lower-priority root under the higher one
+            if (less(x, y)) {
+                if (parent.compareAndSet(x, x, y)) break;
+            } else {
+                if (parent.compareAndSet(y, y, x)) break;
+            }
+            // the root we tried to link was linked by another thread first; start again from the new roots
+        }
+        sets.decrementAndGet();
+        return true;
+    }
+
+    /***
+     * Checks if x and y belong to the same set. Linearizable: a true answer stays true, and a false answer was
+     * correct at some moment during the call.
+     */
+    public boolean connected(int x, int y) {
+        while (true) {
+            x = find(x);
+            y = find(y);
+            if (x == y) return true;
+            if (parent.get(x) == x) return false; // x is still a root, so the two sets were different
+        }
+    }
+
+    /***
+     * Unions u[i] with v[i] for every i, in parallel
+     * @return number of unions that merged two different sets
+     */
+    public long unionAll(int[] u, int[] v) {
+        if (u.length != v.length) throw new IllegalArgumentException("u and v must have the same length");
+        int chunk = 1 << 14;
+        int chunks = (u.length + chunk - 1) / chunk;
+        return IntStream.range(0, chunks).parallel().mapToLong(c -> {
+            long merged = 0;
+            for (int i = c * chunk, end = Math.min(u.length, (c + 1) * chunk); i < end; i++) {
+                if (union(u[i], v[i])) merged++;
+            }
+            return merged;
+        }).sum();
+    }
+
+    /***
+     * Number of disjoint sets right now
+     */
+    public int setCount() {
+        return sets.get();
+    }
+
+    /***
+     * Fixed random-looking priority per element (a 32-bit mix of the index), ties broken by index
+     */
+    private static boolean less(int x, int y) {
+        int px = mix(x), py = mix(y);
+        return px < py || (px == py && x < y);
+    }
+
+    private static int mix(int x) {
+        x = (x ^ (x >>> 16)) * 0x45d9f3b;
+        x = (x ^ (x >>> 16)) * 0x45d9f3b;
+        return x ^ (x >>> 16);
+    }
+}
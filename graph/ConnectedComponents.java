@@ -0,0 +1,216 @@
+package graph;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/***
+ * Reference: Sutton, Ben-Nun, Barak — Optimizing Parallel Graph Connectivity Computation via Subgraph Sampling (IPDPS 2018)<br>
+ * Parallel connected components of an undirected graph, returning a component id per vertex and the component sizes.
+ * <br>
+ * Three ways to compute them:
+ * <ul>
+ *     <li><b>afforest:</b> on a {@link CSRGraph} that stores both directions of every edge.
+ *     <ol>
+ *         <li>Link every vertex with its first two neighbours in parallel on a {@link ConcurrentDSU}. This small
+ *         sample already joins almost all of the giant component.</li>
+ *         <li>Find the most frequent root among 1024 random vertices: the giant component.</li>
+ *         <li>Link the remaining neighbours, skipping every vertex already in the giant component. Each of its edges
+ *         is also stored at the other endpoint, so an edge leaving it is still seen from the other side.</li>
+ *     </ol>
+ *     Most edges of power-law graphs are never touched.</li>
+ *     <li><b>labelPropagation:</b> every vertex repeatedly takes the minimum label among itself and its neighbours, in
+ *     parallel rounds, with a pointer-jumping step (label[v] = label[label[v]]) to shorten long paths. Each vertex
+ *     only writes its own label, so no atomics are needed; O(diameter) rounds. Useful when the graph is already
+ *     split across workers and a DSU is not available.</li>
+ *     <li><b>{@link Streaming}:</b> consumes edges one by one or in batches straight into a ConcurrentDSU, without
+ *     building any adjacency structure (O(V) memory whatever the number of edges).</li>
+ * </ul>
+ * Component ids are compact (0..count-1), numbered in order of their smallest vertex.
+ *
+ * Complexity:
+ * <ul>
+ *     <li>afforest, Streaming: O(E α(V)) work, O(V) space</li>
+ *     <li>labelPropagation: O(E) work per round, O(diameter) rounds</li>
+ * </ul>
+ */
+public class ConnectedComponents {
+    private static final int NEIGHBOR_ROUNDS = 2;
+    private static final int SAMPLES = 1024;
+
+    /***
+     * component[v] = id of the component of v, sizes[c] = number of vertices in component c
+     */
+    public static final class Result {
+        public final int[] component;
+        public final int[] sizes;
+        public final int count;
+
+        Result(int[] component, int[] sizes) {
+            this.component = component;
+            this.sizes = sizes;
+            this.count = sizes.length;
+        }
+
+        /***
+         * Id of the component with the most vertices (-1 for an empty graph)
+         */
+        public int largest() {
+            int best = -1;
+            for (int c = 0; c < count; c++) {
+                if (best == -1 || sizes[c] > sizes[best]) best = c;
+            }
+            return best;
+        }
+    }
+
+    /***
+     * Afforest on the common ForkJoinPool
+     * @param graph undirected graph (both directions stored, e.g. CSRGraph.fromEdgeList(n, edges, false))
+     */
+    public static Result afforest(CSRGraph graph) {
+        int n = graph.vertexCount();
+        int[] offsets = graph.offsets, targets = graph.targets;
+        ConcurrentDSU dsu = new ConcurrentDSU(n);
+
+        for (int r = 0; r < NEIGHBOR_ROUNDS; r++) {
+            int round = r;
+            IntStream.range(0, n).parallel().forEach(u -> {
+                if (offsets[u] + round < offsets[u + 1]) dsu.union(u, targets[offsets[u] + round]);
+            });
+        }
+
+        int giant = sampleLargest(dsu, n);
+        IntStream.range(0, n).parallel().forEach(u -> {
+            if (dsu.find(u) == giant) return;
+            for (int e = offsets[u] + NEIGHBOR_ROUNDS; e < offsets[u + 1]; e++) dsu.union(u, targets[e]);
+        });
+
+        return label(dsu);
+    }
+
+    /***
+     * Parallel min-label propagation with pointer jumping
+     * @param graph undirected graph (both directions stored)
+     */
+    public static Result labelPropagation(CSRGraph graph) {
+        int n = graph.vertexCount();
+        int[] offsets = graph.offsets, targets = graph.targets;
+        int[] label = new int[n];
+        for (int v = 0; v < n; v++) label[v] = v;
+
+        boolean changed = true;
+        while (changed) {
+            changed = IntStream.range(0, n).parallel().map(v -> {
+                int min = label[v];
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) min = Math.min(min, label[targets[e]]);
+                min = Math.min(min, label[min]);
+                if (min < label[v]) {
+                    label[v] = min;
+                    return 1;
+                }
+                return 0;
+            }).sum() > 0;
+        }
+
+        // every label is now the smallest vertex of its component
+        return compact(label);
+    }
+
+    /***
+     * Components of n vertices joined by the given edges, without building an adjacency structure
+     */
+    public static Result fromEdges(int n, EdgeList edges) {
+        Streaming streaming = new Streaming(n);
+        streaming.addEdges(edges.from, edges.to, edges.size());
+        return streaming.result();
+    }
+
+    /***
+     * Incremental components over a stream of undirected edges. addEdge and addEdges can be called from several
+     * threads at once; result() gives a snapshot once the producers are done.
+     */
+    public static final class Streaming {
+        private static final int CHUNK = 1 << 14;
+        private final ConcurrentDSU dsu;
+
+        public Streaming(int n) {
+            dsu = new ConcurrentDSU(n);
+        }
+
+        public void addEdge(int u, int v) {
+            dsu.union(u, v);
+        }
+
+        /***
+         * Adds the edges from[i]-to[i] for i in 0..count-1, in parallel chunks
+         */
+        public void addEdges(int[] from, int[] to, int count) {
+            int chunks = (count + CHUNK - 1) / CHUNK;
+            IntStream.range(0, chunks).parallel().forEach(c -> {
+                for (int i = c * CHUNK, end = Math.min(count, (c + 1) * CHUNK); i < end; i++) dsu.union(from[i], to[i]);
+            });
+        }
+
+        public boolean connected(int u, int v) {
+            return dsu.connected(u, v);
+        }
+
+        public int componentCount() {
+            return dsu.setCount();
+        }
+
+        public Result result() {
+            return label(dsu);
+        }
+    }
+
+    /***
+     * Most frequent root among random vertices
+     */
+    private static int sampleLargest(ConcurrentDSU dsu, int n) {
+        if (n == 0) return -1;
+        SplittableRandom random = new SplittableRandom(n);
+        int[] roots = new int[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) roots[i] = dsu.find(random.nextInt(n));
+        Arrays.sort(roots);
+
+        int best = roots[0], bestRun = 0;
+        for (int i = 0, run = 0; i < SAMPLES; i++) {
+            run = i > 0 && roots[i] == roots[i - 1] ? run + 1 : 1;
+            if (run > bestRun) {
+                bestRun = run;
+                best = roots[i];
+            }
+        }
+        return best;
+    }
+
+    private static Result label(ConcurrentDSU dsu) {
+        int n = dsu.size();
+        int[] root = new int[n];
+        IntStream.range(0, n).parallel().forEach(v -> root[v] = dsu.find(v));
+        return compact(root);
+    }
+
+    /***
+     * Renumbers arbitrary representatives to 0..count-1 in order of the first vertex of each component
+     */
+    private static Result compact(int[] representative) {
+        int n = representative.length;
+        int[] id = new int[n];
+        Arrays.fill(id, -1);
+        int[] component = new int[n];
+        int[] sizes = new int[16];
+        int count = 0;
+        for (int v = 0; v < n; v++) {
+            int r = representative[v];
+            if (id[r] == -1) {
+                if (count == sizes.length) sizes = Arrays.copyOf(sizes, count * 2);
+                id[r] = count++;
+            }
+            component[v] = id[r];
+            sizes[id[r]]++;
+        }
+        return new Result(component, Arrays.copyOf(sizes, count));
+    }
+}
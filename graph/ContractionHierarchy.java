@@ -0,0 +1,648 @@
+package graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/***
+ * Reference: Geisberger, Sanders, Schultes, Delling — Contraction Hierarchies: Faster and Simpler Hierarchical Routing
+ * in Road Networks (WEA 2008)<br>
+ * Preprocessed point-to-point shortest paths on a directed graph with non-negative weights.
+ * <br>
+ * Preprocessing contracts the vertices one by one, from least to most important:
+ * <ul>
+ *     <li>Contracting v removes it from the remaining graph. For every remaining in-neighbour u and out-neighbour x,
+ *     a shortcut u→x of weight w(u,v) + w(v,x) is added unless a bounded Dijkstra from u that avoids v (the witness
+ *     search) finds a path to x that is no longer. The shortcut remembers v so it can be unpacked later.</li>
+ *     <li>The order comes from a priority queue keyed by edge difference (shortcuts added minus edges removed) plus
+ *     the number of already contracted neighbours. Priorities are recomputed lazily: a popped vertex whose priority
+ *     got worse is pushed back.</li>
+ *     <li>rank[v] is the position of v in the contraction order. Every edge, original or shortcut, goes either up
+ *     (to a higher rank) or down.</li>
+ * </ul>
+ * A query runs a forward Dijkstra from s over upward edges only and a backward Dijkstra from t over downward edges
+ * reversed (so it also climbs). Both meet at the highest-ranked vertex of a shortest path; each side stops when its
+ * smallest key reaches the best distance found. On road-like graphs each side settles only a few hundred vertices.
+ * <br>
+ * The hierarchy is immutable and can be saved to and loaded from a binary file; {@link Query} holds the per-thread
+ * search state.
+ *
+ * Complexity:
+ * <ul>
+ *     <li>Preprocessing: no useful worst-case bound; in practice seconds to minutes for millions of road vertices.
+ *     Graphs without a hierarchy (random, power-law) leave a dense core of late vertices and degrade towards
+ *     quadratic time and shortcut count</li>
+ *     <li>Query: far below a plain Dijkstra, unpacking adds O(path length)</li>
+ *     <li>Space: O(V + E + shortcuts)</li>
+ * </ul>
+ */
+public final class ContractionHierarchy {
+    private static final long MAGIC = 0x3148504152474843L; // "CHGRAPH1" read as a little-endian long
+    private static final int VERSION = 1;
+    // settled-vertex caps of the witness search: small while only estimating priorities, larger when contracting
+    private static final int ESTIMATE_SETTLE_LIMIT = 50, CONTRACT_SETTLE_LIMIT = 500;
+
+    private final int[] rank;
+    // upward edges u→x (rank[x] > rank[u]) stored at u
+    private final int[] upOffsets, upTargets, upMiddle;
+    private final long[] upWeights;
+    // downward edges u→x (rank[x] < rank[u]) stored reversed at x, so the backward search also goes up
+    private final int[] downOffsets, downSources, downMiddle;
+    private final long[] downWeights;
+
+    private ContractionHierarchy(int[] rank, int[] upOffsets, int[] upTargets, long[] upWeights, int[] upMiddle,
+                                 int[] downOffsets, int[] downSources, long[] downWeights, int[] downMiddle) {
+        this.rank = rank;
+        this.upOffsets = upOffsets;
+        this.upTargets = upTargets;
+        this.upWeights = upWeights;
+        this.upMiddle = upMiddle;
+        this.downOffsets = downOffsets;
+        this.downSources = downSources;
+        this.downWeights = downWeights;
+        this.downMiddle = downMiddle;
+    }
+
+    public int vertexCount() {
+        return rank.length;
+    }
+
+    /***
+     * Position of v in the contraction order (higher = more important)
+     */
+    public int rank(int v) {
+        return rank[v];
+    }
+
+    /***
+     * Number of upward plus downward edges, shortcuts included
+     */
+    public int edgeCount() {
+        return upTargets.length + downSources.length;
+    }
+
+    /***
+     * Contracts every vertex of a directed graph
+     * @param graph weighted graph with non-negative weights (unweighted graphs count hops)
+     */
+    public static ContractionHierarchy build(CSRGraph graph) {
+        return new Builder(graph).build();
+    }
+
+    /***
+     * Point-to-point queries against a hierarchy. Keeps its arrays between queries and resets only what a query
+     * touched; not thread-safe, use one per thread.
+     */
+    public static final class Query {
+        private final ContractionHierarchy ch;
+        private final long[] distF, distB;
+        private final int[] predEdgeF, predEdgeB;
+        private final int[] touched;
+        private int touchedCount;
+        private final IndexedDaryHeap heapF, heapB;
+        private int meet;
+        // unpacking buffers: the path so far and a stack of (tail, head, middle) edges still to expand
+        private int[] path = new int[16], stack = new int[48];
+        private int pathLength;
+
+        public Query(ContractionHierarchy ch) {
+            this.ch = ch;
+            int n = ch.vertexCount();
+            distF = new long[n];
+            distB = new long[n];
+            predEdgeF = new int[n];
+            predEdgeB = new int[n];
+            touched = new int[2 * n];
+            Arrays.fill(distF, ShortestPaths.UNREACHABLE);
+            Arrays.fill(distB, ShortestPaths.UNREACHABLE);
+            heapF = new IndexedDaryHeap(n);
+            heapB = new IndexedDaryHeap(n);
+        }
+
+        /***
+         * Length of a shortest path source → target, {@link ShortestPaths#UNREACHABLE} if there is none
+         */
+        public long distance(int source, int target) {
+            try {
+                return search(source, target);
+            } finally {
+                reset();
+            }
+        }
+
+        /***
+         * Shortest path source → target with all shortcuts unpacked into original edges
+         */
+        public ShortestPathQuery.Path path(int source, int target) {
+            try {
+                long best = search(source, target);
+                if (best == ShortestPaths.UNREACHABLE) return ShortestPathQuery.Path.NONE;
+                return new ShortestPathQuery.Path(best, unpack(source, target));
+            } finally {
+                reset();
+            }
+        }
+
+        private long search(int s, int t) {
+            distF[s] = 0;
+            predEdgeF[s] = -1;
+            touched[touchedCount++] = s;
+            heapF.insert(s, 0);
+            if (distB[t] == ShortestPaths.UNREACHABLE) touched[touchedCount++] = t;
+            distB[t] = 0;
+            predEdgeB[t] = -1;
+            heapB.insert(t, 0);
+
+            long best = s == t ? 0 : ShortestPaths.UNREACHABLE;
+            meet = s == t ? s : -1;
+            while (true) {
+                boolean fwdOpen = !heapF.isEmpty() && heapF.minKey() < best;
+                boolean bwdOpen = !heapB.isEmpty() && heapB.minKey() < best;
+                if (!fwdOpen && !bwdOpen) break;
+                boolean fwd = fwdOpen && (!bwdOpen || heapF.minKey() <= heapB.minKey());
+
+                IndexedDaryHeap heap = fwd ? heapF : heapB;
+                long[] dist = fwd ? distF : distB, other = fwd ? distB : distF;
+                int[] predEdge = fwd ? predEdgeF : predEdgeB;
+                int[] offsets = fwd ? ch.upOffsets : ch.downOffsets;
+                int[] heads = fwd ? ch.upTargets : ch.downSources;
+                long[] weights = fwd ? ch.upWeights : ch.downWeights;
+
+                int u = heap.pollMin();
+                long du = dist[u];
+                if (other[u] != ShortestPaths.UNREACHABLE && du + other[u] < best) {
+                    best = du + other[u];
+                    meet = u;
+                }
+                for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                    int v = heads[e];
+                    long nd = du + weights[e];
+                    if (nd < dist[v]) {
+                        if (distF[v] == ShortestPaths.UNREACHABLE && distB[v] == ShortestPaths.UNREACHABLE) touched[touchedCount++] = v;
+                        dist[v] = nd;
+                        predEdge[v] = e;
+                        heap.insertOrDecrease(v, nd);
+                    }
+                }
+            }
+            return best;
+        }
+
+        /***
+         * Vertices of the path: the edges s → meet of the forward tree, then meet → t of the backward tree, each
+         * shortcut replaced by its two halves until only original edges remain
+         */
+        private int[] unpack(int s, int t) {
+            pathLength = 0;
+            append(s);
+            // the forward tree is walked from meet back to s, so collect its edges first and expand them in reverse
+            int forward = 0;
+            for (int v = meet; v != s; v = ch.upTail(predEdgeF[v])) forward++;
+            int[] edges = new int[forward];
+            for (int v = meet, i = forward; v != s; v = ch.upTail(predEdgeF[v])) edges[--i] = predEdgeF[v];
+            for (int e : edges) expand(ch.upTail(e), ch.upTargets[e], ch.upMiddle[e]);
+            for (int v = meet; v != t; ) {
+                int e = predEdgeB[v];
+                int next = ch.downHead(e);
+                expand(v, next, ch.downMiddle[e]);
+                v = next;
+            }
+            return Arrays.copyOf(path, pathLength);
+        }
+
+        /***
+         * Appends the vertices after a of the edge a→b, expanding shortcuts depth-first on an explicit stack
+         */
+        private void expand(int a, int b, int mid) {
+            int top = push(0, a, b, mid);
+            while (top > 0) {
+                top--;
+                a = stack[3 * top];
+                b = stack[3 * top + 1];
+                mid = stack[3 * top + 2];
+                if (mid < 0) {
+                    append(b);
+                    continue;
+                }
+                // a→b = a→mid (stored downward at mid) followed by mid→b (stored upward at mid); the second half is
+                // pushed first so the first half is expanded first
+                int second = ch.findUp(mid, b), first = ch.findDown(mid, a);
+                top = push(top, mid, b, ch.upMiddle[second]);
+                top = push(top, a, mid, ch.downMiddle[first]);
+            }
+        }
+
+        private int push(int top, int a, int b, int mid) {
+            if (3 * top + 3 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+            stack[3 * top] = a;
+            stack[3 * top + 1] = b;
+            stack[3 * top + 2] = mid;
+            return top + 1;
+        }
+
+        private void append(int v) {
+            if (pathLength == path.length) path = Arrays.copyOf(path, pathLength * 2);
+            path[pathLength++] = v;
+        }
+
+        private void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                int v = touched[i];
+                distF[v] = ShortestPaths.UNREACHABLE;
+                distB[v] = ShortestPaths.UNREACHABLE;
+            }
+            touchedCount = 0;
+            heapF.clear();
+            heapB.clear();
+        }
+    }
+
+    /***
+     * Tail of upward edge e (binary search in the offsets)
+     */
+    private int upTail(int e) {
+        return tailOf(upOffsets, e);
+    }
+
+    /***
+     * Head of downward edge e, i.e. the vertex it is stored at (the backward search walks it from head to tail)
+     */
+    private int downHead(int e) {
+        return tailOf(downOffsets, e);
+    }
+
+    /***
+     * Vertex whose range [offsets[u], offsets[u + 1]) contains position e
+     */
+    private static int tailOf(int[] offsets, int e) {
+        int lo = 0, hi = offsets.length - 2;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (offsets[mid] <= e) lo = mid;
+            else hi = mid - 1;
+        }
+        return lo;
+    }
+
+    private int findUp(int from, int to) {
+        for (int e = upOffsets[from]; e < upOffsets[from + 1]; e++) {
+            if (upTargets[e] == to) return e;
+        }
+        throw new IllegalStateException("missing edge " + from + "->" + to);
+    }
+
+    private int findDown(int at, int source) {
+        for (int e = downOffsets[at]; e < downOffsets[at + 1]; e++) {
+            if (downSources[e] == source) return e;
+        }
+        throw new IllegalStateException("missing edge " + source + "->" + at);
+    }
+
+    /***
+     * Writes the hierarchy to a little-endian binary file
+     */
+    public void save(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putLong(MAGIC).putInt(VERSION);
+            for (int[] ints : new int[][]{rank, upOffsets, upTargets, upMiddle, downOffsets, downSources, downMiddle}) {
+                buffer = putInts(channel, buffer, ints);
+            }
+            for (long[] longs : new long[][]{upWeights, downWeights}) {
+                buffer = putLongs(channel, buffer, longs);
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    /***
+     * Reads a hierarchy written by {@link #save(Path)}
+     * @throws IOException if the file cannot be read or is not a hierarchy file
+     */
+    public static ContractionHierarchy load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.flip();
+            buffer = fill(channel, buffer, 12);
+            if (buffer.getLong() != MAGIC) throw new IOException("not a contraction hierarchy file");
+            int version = buffer.getInt();
+            if (version != VERSION) throw new IOException("unsupported contraction hierarchy file version " + version);
+
+            int[][] ints = new int[7][];
+            for (int i = 0; i < ints.length; i++) {
+                buffer = fill(channel, buffer, 4);
+                ints[i] = new int[buffer.getInt()];
+                for (int j = 0; j < ints[i].length; j++) {
+                    buffer = fill(channel, buffer, 4);
+                    ints[i][j] = buffer.getInt();
+                }
+            }
+            long[][] longs = new long[2][];
+            for (int i = 0; i < longs.length; i++) {
+                buffer = fill(channel, buffer, 4);
+                longs[i] = new long[buffer.getInt()];
+                for (int j = 0; j < longs[i].length; j++) {
+                    buffer = fill(channel, buffer, 8);
+                    longs[i][j] = buffer.getLong();
+                }
+            }
+            return new ContractionHierarchy(ints[0], ints[1], ints[2], longs[0], ints[3], ints[4], ints[5], longs[1], ints[6]);
+        }
+    }
+
+    private static ByteBuffer putInts(FileChannel channel, ByteBuffer buffer, int[] values) throws IOException {
+        if (buffer.remaining() < 4) flush(channel, buffer);
+        buffer.putInt(values.length);
+        for (int value : values) {
+            if (buffer.remaining() < 4) flush(channel, buffer);
+            buffer.putInt(value);
+        }
+        return buffer;
+    }
+
+    private static ByteBuffer putLongs(FileChannel channel, ByteBuffer buffer, long[] values) throws IOException {
+        if (buffer.remaining() < 4) flush(channel, buffer);
+        buffer.putInt(values.length);
+        for (long value : values) {
+            if (buffer.remaining() < 8) flush(channel, buffer);
+            buffer.putLong(value);
+        }
+        return buffer;
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    /***
+     * Makes sure at least bytes bytes are readable, refilling the buffer from the channel
+     */
+    private static ByteBuffer fill(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) return buffer;
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) throw new IOException("truncated contraction hierarchy file");
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /***
+     * Mutable graph used while contracting: per-vertex growable in/out edge lists with weight and middle vertex
+     */
+    private static final class Builder {
+        private final int n;
+        private final int[][] outTo, inFrom, outMid, inMid;
+        private final long[][] outW, inW;
+        private final int[] outSize, inSize;
+        private final boolean[] isTarget;
+        private final int[] contractedNeighbors;
+        private final int[] rank;
+
+        // witness search state, reset through the touched list
+        private final long[] witnessDist;
+        private final int[] witnessTouched;
+        private int witnessTouchedCount;
+        private final IndexedDaryHeap witnessHeap;
+
+        Builder(CSRGraph graph) {
+            n = graph.vertexCount();
+            outTo = new int[n][];
+            inFrom = new int[n][];
+            outMid = new int[n][];
+            inMid = new int[n][];
+            outW = new long[n][];
+            inW = new long[n][];
+            outSize = new int[n];
+            inSize = new int[n];
+            isTarget = new boolean[n];
+            contractedNeighbors = new int[n];
+            rank = new int[n];
+            witnessDist = new long[n];
+            witnessTouched = new int[n];
+            witnessHeap = new IndexedDaryHeap(n);
+            Arrays.fill(witnessDist, ShortestPaths.UNREACHABLE);
+
+            for (int u = 0; u < n; u++) {
+                for (int e = graph.offsets[u]; e < graph.offsets[u + 1]; e++) {
+                    int v = graph.targets[e];
+                    long w = graph.weight(e);
+                    if (w < 0) throw new IllegalArgumentException("negative edge weight " + w + " on edge " + u + "->" + v);
+                    if (u != v) addOrImprove(u, v, w, -1);
+                }
+            }
+        }
+
+        ContractionHierarchy build() {
+            IndexedDaryHeap queue = new IndexedDaryHeap(n);
+            for (int v = 0; v < n; v++) queue.insert(v, priority(v));
+
+            for (int next = 0; next < n; next++) {
+                int v = queue.pollMin();
+                // lazy update: if the priority got worse, put it back unless it is still the best
+                long p = priority(v);
+                while (!queue.isEmpty() && p > queue.minKey()) {
+                    queue.insert(v, p);
+                    v = queue.pollMin();
+                    p = priority(v);
+                }
+                contract(v);
+                rank[v] = next;
+            }
+            return freeze();
+        }
+
+        /***
+         * Edge difference plus contracted neighbours; lower is contracted earlier
+         */
+        private long priority(int v) {
+            return 2L * shortcuts(v, false) - inSize[v] - outSize[v] + contractedNeighbors[v];
+        }
+
+        /***
+         * Adds the shortcuts of v, then unlinks v from its neighbours so the remaining graph only holds uncontracted
+         * vertices. The lists of v itself are kept: they now hold exactly its edges to higher-ranked vertices.
+         */
+        private void contract(int v) {
+            shortcuts(v, true);
+            for (int i = 0; i < inSize[v]; i++) {
+                int u = inFrom[v][i];
+                contractedNeighbors[u]++;
+                removeOut(u, v);
+            }
+            for (int i = 0; i < outSize[v]; i++) {
+                int x = outTo[v][i];
+                contractedNeighbors[x]++;
+                removeIn(x, v);
+            }
+        }
+
+        /***
+         * Counts (and with add, inserts) the shortcuts needed to contract v
+         */
+        private int shortcuts(int v, boolean add) {
+            long maxOut = 0;
+            for (int j = 0; j < outSize[v]; j++) {
+                maxOut = Math.max(maxOut, outW[v][j]);
+                isTarget[outTo[v][j]] = true;
+            }
+
+            int count = 0;
+            for (int i = 0; i < inSize[v]; i++) {
+                int u = inFrom[v][i];
+                long wIn = inW[v][i];
+                witnessSearch(u, v, wIn + maxOut, isTarget[u] ? outSize[v] - 1 : outSize[v],
+                        add ? CONTRACT_SETTLE_LIMIT : ESTIMATE_SETTLE_LIMIT);
+                for (int j = 0; j < outSize[v]; j++) {
+                    int x = outTo[v][j];
+                    if (x == u) continue;
+                    long via = wIn + outW[v][j];
+                    if (witnessDist[x] > via) {
+                        count++;
+                        if (add) addOrImprove(u, x, via, v);
+                    }
+                }
+                resetWitness();
+            }
+            for (int j = 0; j < outSize[v]; j++) isTarget[outTo[v][j]] = false;
+            return count;
+        }
+
+        /***
+         * Dijkstra from u in the remaining graph without v. Stops once every target is settled, past maxCost, or after
+         * a fixed number of settled vertices (a missed witness only costs an unnecessary shortcut).
+         */
+        private void witnessSearch(int u, int v, long maxCost, int targets, int settleLimit) {
+            witnessDist[u] = 0;
+            witnessTouched[witnessTouchedCount++] = u;
+            witnessHeap.insert(u, 0);
+            int settled = 0;
+            while (targets > 0 && !witnessHeap.isEmpty() && settled++ < settleLimit) {
+                if (witnessHeap.minKey() > maxCost) break;
+                int a = witnessHeap.pollMin();
+                if (a != u && isTarget[a]) targets--;
+                long da = witnessDist[a];
+                for (int j = 0; j < outSize[a]; j++) {
+                    int b = outTo[a][j];
+                    if (b == v) continue;
+                    long nd = da + outW[a][j];
+                    if (nd < witnessDist[b]) {
+                        if (witnessDist[b] == ShortestPaths.UNREACHABLE) witnessTouched[witnessTouchedCount++] = b;
+                        witnessDist[b] = nd;
+                        witnessHeap.insertOrDecrease(b, nd);
+                    }
+                }
+            }
+            witnessHeap.clear();
+        }
+
+        private void resetWitness() {
+            for (int i = 0; i < witnessTouchedCount; i++) witnessDist[witnessTouched[i]] = ShortestPaths.UNREACHABLE;
+            witnessTouchedCount = 0;
+        }
+
+        private void removeOut(int u, int x) {
+            for (int i = 0; i < outSize[u]; i++) {
+                if (outTo[u][i] == x) {
+                    int last = --outSize[u];
+                    outTo[u][i] = outTo[u][last];
+                    outW[u][i] = outW[u][last];
+                    outMid[u][i] = outMid[u][last];
+                    return;
+                }
+            }
+        }
+
+        private void removeIn(int x, int u) {
+            for (int i = 0; i < inSize[x]; i++) {
+                if (inFrom[x][i] == u) {
+                    int last = --inSize[x];
+                    inFrom[x][i] = inFrom[x][last];
+                    inW[x][i] = inW[x][last];
+                    inMid[x][i] = inMid[x][last];
+                    return;
+                }
+            }
+        }
+
+        /***
+         * Adds u→x, or lowers the weight of the existing u→x
+         */
+        private void addOrImprove(int u, int x, long w, int mid) {
+            for (int i = 0; i < outSize[u]; i++) {
+                if (outTo[u][i] == x) {
+                    if (w < outW[u][i]) {
+                        outW[u][i] = w;
+                        outMid[u][i] = mid;
+                        for (int j = 0; j < inSize[x]; j++) {
+                            if (inFrom[x][j] == u) {
+                                inW[x][j] = w;
+                                inMid[x][j] = mid;
+                                break;
+                            }
+                        }
+                    }
+                    return;
+                }
+            }
+            int i = outSize[u]++;
+            if (outTo[u] == null || i == outTo[u].length) {
+                int cap = outTo[u] == null ? 4 : i * 2;
+                outTo[u] = outTo[u] == null ? new int[cap] : Arrays.copyOf(outTo[u], cap);
+                outMid[u] = outMid[u] == null ? new int[cap] : Arrays.copyOf(outMid[u], cap);
+                outW[u] = outW[u] == null ? new long[cap] : Arrays.copyOf(outW[u], cap);
+            }
+            outTo[u][i] = x;
+            outW[u][i] = w;
+            outMid[u][i] = mid;
+
+            int j = inSize[x]++;
+            if (inFrom[x] == null || j == inFrom[x].length) {
+                int cap = inFrom[x] == null ? 4 : j * 2;
+                inFrom[x] = inFrom[x] == null ? new int[cap] : Arrays.copyOf(inFrom[x], cap);
+                inMid[x] = inMid[x] == null ? new int[cap] : Arrays.copyOf(inMid[x], cap);
+                inW[x] = inW[x] == null ? new long[cap] : Arrays.copyOf(inW[x], cap);
+            }
+            inFrom[x][j] = u;
+            inW[x][j] = w;
+            inMid[x][j] = mid;
+        }
+
+        /***
+         * Builds the upward CSR from the out-lists and the reversed downward CSR from the in-lists; after contraction
+         * both only hold edges to higher-ranked vertices
+         */
+        private ContractionHierarchy freeze() {
+            int[] upOffsets = new int[n + 1], downOffsets = new int[n + 1];
+            for (int v = 0; v < n; v++) {
+                upOffsets[v + 1] = upOffsets[v] + outSize[v];
+                downOffsets[v + 1] = downOffsets[v] + inSize[v];
+            }
+            int[] upTargets = new int[upOffsets[n]], upMiddle = new int[upOffsets[n]];
+            long[] upWeights = new long[upOffsets[n]];
+            int[] downSources = new int[downOffsets[n]], downMiddle = new int[downOffsets[n]];
+            long[] downWeights = new long[downOffsets[n]];
+            for (int v = 0; v < n; v++) {
+                if (outSize[v] > 0) {
+                    System.arraycopy(outTo[v], 0, upTargets, upOffsets[v], outSize[v]);
+                    System.arraycopy(outW[v], 0, upWeights, upOffsets[v], outSize[v]);
+                    System.arraycopy(outMid[v], 0, upMiddle, upOffsets[v], outSize[v]);
+                }
+                if (inSize[v] > 0) {
+                    System.arraycopy(inFrom[v], 0, downSources, downOffsets[v], inSize[v]);
+                    System.arraycopy(inW[v], 0, downWeights, downOffsets[v], inSize[v]);
+                    System.arraycopy(inMid[v], 0, downMiddle, downOffsets[v], inSize[v]);
+                }
+            }
+            return new ContractionHierarchy(rank, upOffsets, upTargets, upWeights, upMiddle,
+                    downOffsets, downSources, downWeights, downMiddle);
+        }
+    }
+}
@@ -37,53 +37,78 @@ import java.util.*;
  * </ul>
  */
 public class DFS {
+    /***
+     * DFS from start, appending vertices to traversal in pre-order. Vertices already in visited are not entered.
+     * Runs on an explicit int stack (same order as {@link DepthFirstSearch}), so it does not recurse and works on
+     * arbitrarily deep graphs. The caller's visited set is the only visited state, so a call costs only what it
+     * reaches and calling it once per component stays O(V + E) overall.
+     */
     public static void dfsFromStart(List<List<Integer>> graph, int start, List<Integer> traversal, Set<Integer> visited) {
-        visited.add(start);
+        if (!visited.add(start)) return;
         traversal.add(start);
 
-        for (Integer neighbor : graph.get(start)) {
-            if (!visited.contains(neighbor)) {
-                dfsFromStart(graph, neighbor, traversal, visited);
+        // stack[i] is a vertex on the current path, cursor[i] the index of its next neighbor to look at
+        int[] stack = new int[16], cursor = new int[16];
+        int depth = 0;
+        stack[depth] = start;
+        cursor[depth++] = 0;
+        while (depth > 0) {
+            List<Integer> neighbors = graph.get(stack[depth - 1]);
+            if (cursor[depth - 1] == neighbors.size()) {
+                depth--;
+                continue;
             }
+            int v = neighbors.get(cursor[depth - 1]++);
+            if (!visited.add(v)) continue;
+            traversal.add(v);
+            if (depth == stack.length) {
+                stack = Arrays.copyOf(stack, depth * 2);
+                cursor = Arrays.copyOf(cursor, depth * 2);
+            }
+            stack[depth] = v;
+            cursor[depth++] = 0;
         }
     }
 
     public static List<Integer> fullDfs(List<List<Integer>> graph) {
-        List<Integer> traversal = new ArrayList<>();
-        Set<Integer> visited = new HashSet<>(); //If only integers, can use int[] instead of Set<Integer> as int[] would be faster and easier to maintain. Set would work better for generic things like nodes etc.
-
-        for (int i = 0; i < graph.size(); i++) {
-            if (!visited.contains(i)) {
-                dfsFromStart(graph, i, traversal, visited);
+        List<Integer> traversal = new ArrayList<>(graph.size());
+        new DepthFirstSearch(graph).runAll(new DepthFirstSearch.Visitor() {
+            @Override
+            public void preOrder(int v) {
+                traversal.add(v);
             }
-        }
-
+        });
         return traversal;
     }
 
+    /***
+     * Pre-order of a DFS forest started from 0..n-1, on an explicit int stack with a bitset visited set.
+     * Children are entered in adjacency order, so this is the same order as {@link #fullDfs(List)}.
+     */
     public static List<Integer> iterativeDfs(List<List<Integer>> graph) {
-        List<Integer> traversal = new ArrayList<>();
-        Set<Integer> visited = new HashSet<>(); //If only integers, can use int[] instead of Set<Integer> as int[] would be faster and easier to maintain. Set would work better for generic things like nodes etc.
-        Stack<Integer> st = new Stack<>();
+        int[] order = preOrder(new DepthFirstSearch(graph), graph.size());
+        List<Integer> traversal = new ArrayList<>(order.length);
+        for (int v : order) traversal.add(v);
+        return traversal;
+    }
 
-        for (int i = 0; i < graph.size(); i++) {
-            if(!visited.contains(i)) {
-                visited.add(i);
-                st.push(i);
+    /***
+     * Same traversal as {@link #iterativeDfs(List)} on a CSR graph, returned as an int[]
+     */
+    public static int[] iterativeDfs(CSRGraph graph) {
+        return preOrder(new DepthFirstSearch(graph), graph.vertexCount());
+    }
 
-                while(!st.isEmpty()) {
-                    int x = st.pop();
-                    traversal.add(x);
-                    for(int y : graph.get(x)) {
-                        if(!visited.contains(y)) {
-                            st.push(y);
-                            visited.add(y);
-                        }
-                    }
-                }
-            }
-        }
+    private static int[] preOrder(DepthFirstSearch search, int n) {
+        int[] traversal = new int[n];
+        search.runAll(new DepthFirstSearch.Visitor() {
+            int count;
 
+            @Override
+            public void preOrder(int v) {
+                traversal[count++] = v;
+            }
+        });
         return traversal;
     }
 }
@@ -0,0 +1,213 @@
+package graph;
+
+import java.util.*;
+
+/***
+ * Link: <a href="https://cp-algorithms.com/graph/depth-first-search.html">CP algorithm link</a><br>
+ * Stack-safe depth first search engine with an explicit stack of primitive ints.
+ * <br>
+ * Time complexity: O(V+E), Space complexity: O(V) — two int stacks of depth at most V, two int time arrays and a bitset
+ * <br><br>
+ * The recursion of the classic DFS is replaced by two int stacks: the vertex and the index of its next neighbour to
+ * look at. This gives exactly the order of the recursive version (same pre-order, same post-order) without using
+ * the thread stack, so a path of millions of vertices cannot cause a StackOverflowError.
+ * <br><br>
+ * Exposes:
+ * <ul>
+ *     <li>Discovery and finish times of every vertex (-1 if not reached yet)</li>
+ *     <li>Pre-order and post-order callbacks through a {@link Visitor}</li>
+ *     <li>Classification of every edge u→v as it is examined:
+ *     <ul>
+ *         <li><b>TREE:</b> v was not visited, DFS continues into v</li>
+ *         <li><b>BACK:</b> v is still on the stack (an ancestor of u), so the graph has a cycle</li>
+ *         <li><b>FORWARD:</b> v is an already finished descendant of u</li>
+ *         <li><b>CROSS:</b> v is finished and not a descendant of u</li>
+ *     </ul>
+ *     For undirected graphs (both directions stored) the edge back to the parent shows up as BACK.</li>
+ * </ul>
+ * The visited set, times and stacks are kept between calls to {@link #run(int, Visitor)}, so running from several
+ * starts continues the same search forest; {@link #reset()} starts over.
+ */
+public final class DepthFirstSearch {
+
+    public enum EdgeType { TREE, BACK, FORWARD, CROSS }
+
+    /***
+     * Callbacks invoked during the search; all methods are optional
+     */
+    public interface Visitor {
+        /** v is discovered (pre-order) */
+        default void preOrder(int v) {}
+
+        /** all descendants of v are finished (post-order) */
+        default void postOrder(int v) {}
+
+        /** edge u→v is examined */
+        default void edge(int u, int v, EdgeType type) {}
+    }
+
+    /***
+     * Read-only view of out-neighbours, so the engine runs on both CSR graphs and adjacency lists
+     */
+    public interface Adjacency {
+        int vertexCount();
+
+        int degree(int u);
+
+        int neighbor(int u, int i);
+    }
+
+    public static Adjacency of(CSRGraph graph) {
+        return new Adjacency() {
+            @Override
+            public int vertexCount() {
+                return graph.vertexCount();
+            }
+
+            @Override
+            public int degree(int u) {
+                return graph.offsets[u + 1] - graph.offsets[u];
+            }
+
+            @Override
+            public int neighbor(int u, int i) {
+                return graph.targets[graph.offsets[u] + i];
+            }
+        };
+    }
+
+    public static Adjacency of(List<List<Integer>> graph) {
+        return new Adjacency() {
+            @Override
+            public int vertexCount() {
+                return graph.size();
+            }
+
+            @Override
+            public int degree(int u) {
+                return graph.get(u).size();
+            }
+
+            @Override
+            public int neighbor(int u, int i) {
+                return graph.get(u).get(i);
+            }
+        };
+    }
+
+    private final Adjacency graph;
+    private final long[] visited;
+    private final int[] discovery;
+    private final int[] finish;
+    private final int[] stack;
+    private final int[] cursor;
+    private int time;
+
+    public DepthFirstSearch(Adjacency graph) {
+        int n = graph.vertexCount();
+        this.graph = graph;
+        visited = new long[(n + 63) >>> 6];
+        discovery = new int[n];
+        finish = new int[n];
+        stack = new int[n];
+        cursor = new int[n];
+        Arrays.fill(discovery, -1);
+        Arrays.fill(finish, -1);
+    }
+
+    public DepthFirstSearch(CSRGraph graph) {
+        this(of(graph));
+    }
+
+    public DepthFirstSearch(List<List<Integer>> graph) {
+        this(of(graph));
+    }
+
+    public boolean isVisited(int v) {
+        return (visited[v >>> 6] & (1L << v)) != 0;
+    }
+
+    /***
+     * Marks v as visited without discovering it, so the search will not enter it; edges into v are reported as CROSS
+     */
+    public void markVisited(int v) {
+        visited[v >>> 6] |= 1L << v;
+    }
+
+    /***
+     * Time at which v was discovered, -1 if it was not reached
+     */
+    public int discovery(int v) {
+        return discovery[v];
+    }
+
+    /***
+     * Time at which v was finished, -1 if it is not finished
+     */
+    public int finish(int v) {
+        return finish[v];
+    }
+
+    /***
+     * Searches from start (if it was not visited yet), continuing the current forest
+     */
+    public void run(int start, Visitor visitor) {
+        if (isVisited(start)) return;
+
+        int top = 0;
+        discover(start, visitor);
+        stack[top] = start;
+        cursor[top++] = 0;
+
+        while (top > 0) {
+            int u = stack[top - 1];
+            int i = cursor[top - 1];
+            if (i < graph.degree(u)) {
+                cursor[top - 1] = i + 1;
+                int v = graph.neighbor(u, i);
+                if (!isVisited(v)) {
+                    visitor.edge(u, v, EdgeType.TREE);
+                    discover(v, visitor);
+                    stack[top] = v;
+                    cursor[top++] = 0;
+                } else {
+                    visitor.edge(u, v, classify(u, v));
+                }
+            } else {
+                finish[u] = time++;
+                visitor.postOrder(u);
+                top--;
+            }
+        }
+    }
+
+    /***
+     * Searches from every not yet visited vertex in order 0..n-1, building a DFS forest
+     */
+    public void runAll(Visitor visitor) {
+        for (int v = 0; v < discovery.length; v++) {
+            if (!isVisited(v)) run(v, visitor);
+        }
+    }
+
+    /***
+     * Forgets everything so the next search starts from scratch
+     */
+    public void reset() {
+        Arrays.fill(visited, 0);
+        Arrays.fill(discovery, -1);
+        Arrays.fill(finish, -1);
+        time = 0;
+    }
+
+    private void discover(int v, Visitor visitor) {
+        markVisited(v);
+        discovery[v] = time++;
+        visitor.preOrder(v);
+    }
+
+    private EdgeType classify(int u, int v) {
+        if (finish[v] == -1 && discovery[v] != -1) return EdgeType.BACK;
+        return discovery[u] < discovery[v] ? EdgeType.FORWARD : EdgeType.CROSS;
+    }
+}
@@ -84,4 +84,173 @@ public class Dijkstra {
         return dist;
     }
 
+    /*** @param graph weighted CSR graph (non-negative weights)
+     * @param start starting vertex
+     * @return shortest distances from start to all vertices (-1 if unreachable)
+     * @throws ArithmeticException if a distance does not fit in an int; {@link #shortestPaths(CSRGraph, int)} returns longs
+     */
+    public int[] findMinPath(CSRGraph graph, int start) {
+        return shortestPaths(graph, start).toIntDistances();
+    }
+
+    /***
+     * Priority queue used by the sparse engine
+     */
+    public enum HeapType {
+        /** Indexed 4-ary heap, works for any non-negative weights */
+        DARY,
+        /** Radix heap, best for small non-negative integer weights */
+        RADIX
+    }
+
+    /***
+     * Sparse single-source Dijkstra settling every reachable vertex. See {@link #shortestPaths(CSRGraph, int, int, HeapType)}.
+     */
+    public static ShortestPaths shortestPaths(CSRGraph graph, int source) {
+        return shortestPaths(graph, source, -1, HeapType.DARY);
+    }
+
+    /***
+     * Sparse Dijkstra over a CSR graph with a real decrease-key: every vertex is in the heap at most once, so the heap
+     * never grows beyond V entries and nothing is allocated per relaxation.
+     * <br>
+     * Time complexity: O((V + E) log V) with {@link HeapType#DARY}, O(E + V log C) with {@link HeapType#RADIX}
+     * where C is the largest weight. Space complexity: O(V)
+     *
+     * @param graph    weighted CSR graph, all weights must be non-negative (an unweighted graph counts hops)
+     * @param source   starting vertex
+     * @param target   stop as soon as target is settled, or -1 to settle every reachable vertex. When stopping early
+     *                 only the distances of settled vertices (those not farther than target) are final.
+     * @param heapType priority queue implementation
+     * @return distances and predecessors from source
+     */
+    public static ShortestPaths shortestPaths(CSRGraph graph, int source, int target, HeapType heapType) {
+        return search(graph, new int[]{source}, target, heapType, source);
+    }
+
+    /***
+     * Multi-source Dijkstra: dist[v] is the distance from the nearest of the sources, and pathTo(v) starts at that source.
+     * Equivalent to one search from a virtual vertex with a zero-weight edge to every source.
+     */
+    public static ShortestPaths shortestPaths(CSRGraph graph, int[] sources) {
+        return search(graph, sources, -1, HeapType.DARY, -1);
+    }
+
+    /***
+     * Same search as {@link #shortestPaths(CSRGraph, int)}, reading the edges straight from a memory-mapped graph file
+     */
+    public static ShortestPaths shortestPaths(MappedGraph graph, int source) {
+        return shortestPaths(graph, source, -1, HeapType.DARY);
+    }
+
+    /***
+     * Same search as {@link #shortestPaths(CSRGraph, int, int, HeapType)} on a memory-mapped graph file
+     */
+    public static ShortestPaths shortestPaths(MappedGraph graph, int source, int target, HeapType heapType) {
+        return search(edges(graph), graph.vertexCount(), new int[]{source}, target, heapType, source);
+    }
+
+    /***
+     * Out-edges as the relaxation loop reads them: the edges of u are the positions [offset(u), offset(u + 1))
+     */
+    private interface Edges {
+        long offset(int u);
+
+        int target(long e);
+
+        long weight(long e);
+    }
+
+    private static Edges edges(CSRGraph graph) {
+        int[] offsets = graph.offsets, targets = graph.targets;
+        return new Edges() {
+            @Override
+            public long offset(int u) {
+                return offsets[u];
+            }
+
+            @Override
+            public int target(long e) {
+                return targets[(int) e];
+            }
+
+            @Override
+            public long weight(long e) {
+                return graph.weight((int) e);
+            }
+        };
+    }
+
+    private static Edges edges(MappedGraph graph) {
+        return new Edges() {
+            @Override
+            public long offset(int u) {
+                return graph.offset(u);
+            }
+
+            @Override
+            public int target(long e) {
+                return graph.target(e);
+            }
+
+            @Override
+            public long weight(long e) {
+                return graph.weight(e);
+            }
+        };
+    }
+
+    private static ShortestPaths search(CSRGraph graph, int[] sources, int target, HeapType heapType, int source) {
+        return search(edges(graph), graph.vertexCount(), sources, target, heapType, source);
+    }
+
+    private static ShortestPaths search(Edges graph, int n, int[] sources, int target, HeapType heapType, int source) {
+        long[] dist = new long[n];
+        int[] pred = new int[n];
+        Arrays.fill(dist, ShortestPaths.UNREACHABLE);
+        Arrays.fill(pred, -1);
+
+        IndexedMinHeap heap = heapType == HeapType.RADIX ? new RadixHeap(n) : new IndexedDaryHeap(n);
+        for (int s : sources) {
+            dist[s] = 0;
+            heap.insertOrDecrease(s, 0);
+        }
+        run(graph, target, dist, pred, heap);
+        return new ShortestPaths(source, dist, pred);
+    }
+
+    /***
+     * Single-source search into caller-owned buffers, so repeated searches (Johnson, caches) allocate nothing.
+     * The heap must be empty and sized for the graph; it is empty again on return.
+     */
+    static void shortestPathsInto(CSRGraph graph, int source, long[] dist, int[] pred, IndexedDaryHeap heap) {
+        Arrays.fill(dist, ShortestPaths.UNREACHABLE);
+        Arrays.fill(pred, -1);
+        dist[source] = 0;
+        heap.insert(source, 0);
+        run(edges(graph), -1, dist, pred, heap);
+    }
+
+    /***
+     * The relaxation loop shared by every sparse search: settles vertices until the heap is empty or target is settled
+     */
+    private static void run(Edges graph, int target, long[] dist, int[] pred, IndexedMinHeap heap) {
+        while (!heap.isEmpty()) {
+            int u = heap.pollMin();
+            if (u == target) return;
+            long du = dist[u];
+
+            for (long e = graph.offset(u), end = graph.offset(u + 1); e < end; e++) {
+                long w = graph.weight(e);
+                int v = graph.target(e);
+                if (w < 0) throw new IllegalArgumentException("negative edge weight " + w + " on edge " + u + "->" + v);
+                long nd = du + w;
+                if (nd < dist[v]) {
+                    dist[v] = nd;
+                    pred[v] = u;
+                    heap.insertOrDecrease(v, nd);
+                }
+            }
+        }
+    }
 }
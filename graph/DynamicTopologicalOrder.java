@@ -0,0 +1,269 @@
+package graph;
+
+import java.util.*;
+
+/***
+ * Reference: Pearce, Kelly — A Dynamic Topological Sort Algorithm for Directed Acyclic Graphs (JEA 2007)<br>
+ * Topological order of a DAG that is kept up to date while edges are inserted and removed.
+ * <br>
+ * Every vertex holds a position ord[v] (and node[i] is the vertex at position i). Inserting u→v:
+ * <ul>
+ *     <li>If ord[u] &lt; ord[v] the order is still valid: O(1).</li>
+ *     <li>Otherwise only the affected region ord[v] .. ord[u] can be wrong. A forward DFS from v collects the
+ *     vertices reachable from v with position &lt; ord[u] (deltaF); reaching u means the edge closes a cycle and it
+ *     is rejected. A backward DFS from u collects the vertices reaching u with position &gt; ord[v] (deltaB).</li>
+ *     <li>deltaB and deltaF are each sorted by their current positions and moved into the union of their old
+ *     positions, deltaB first. Vertices outside both sets keep their positions.</li>
+ * </ul>
+ * Removing an edge never invalidates a topological order, so removeEdge only updates the adjacency.
+ *
+ * Complexity:
+ * <ul>
+ *     <li>order(v), vertexAt(i): O(1)</li>
+ *     <li>addEdge: O(|δ| log |δ| + edges of δ), where δ = deltaF ∪ deltaB is the affected region; O(1) when the
+ *     edge already agrees with the order</li>
+ *     <li>removeEdge: O(out-degree(u) + in-degree(v))</li>
+ * </ul>
+ * Parallel edges are allowed; removeEdge removes one copy. Not thread-safe.
+ */
+public class DynamicTopologicalOrder {
+    private int n;
+    private long edges;
+    private int[] ord, node;
+    private int[][] out, in;
+    private int[] outSize, inSize;
+    private boolean[] mark;
+
+    // scratch buffers reused by every insertion
+    private int[] stack = new int[16];
+    private int[] deltaF = new int[16], deltaB = new int[16];
+    private int fCount, bCount;
+    private long[] keys = new long[16];
+    private int[] slots = new int[16];
+
+    /***
+     * n vertices without edges, initially ordered 0..n-1
+     */
+    public DynamicTopologicalOrder(int n) {
+        this.n = n;
+        ord = new int[Math.max(n, 1)];
+        node = new int[Math.max(n, 1)];
+        out = new int[Math.max(n, 1)][];
+        in = new int[Math.max(n, 1)][];
+        outSize = new int[Math.max(n, 1)];
+        inSize = new int[Math.max(n, 1)];
+        mark = new boolean[Math.max(n, 1)];
+        for (int i = 0; i < n; i++) {
+            ord[i] = i;
+            node[i] = i;
+        }
+    }
+
+    /***
+     * Builds the structure from a DAG, starting from a Kahn order so that no insertion needs reordering
+     * @throws IllegalArgumentException if the graph has a cycle
+     */
+    public static DynamicTopologicalOrder of(CSRGraph graph) {
+        int n = graph.vertexCount();
+        int[] order = TopologicalSortingKahnsAlgorithm.findPath(graph);
+        if (order.length != n) throw new IllegalArgumentException("graph contains a cycle");
+
+        DynamicTopologicalOrder dto = new DynamicTopologicalOrder(n);
+        for (int i = 0; i < n; i++) {
+            dto.ord[order[i]] = i;
+            dto.node[i] = order[i];
+        }
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.offsets[u]; e < graph.offsets[u + 1]; e++) dto.link(u, graph.targets[e]);
+        }
+        return dto;
+    }
+
+    public int vertexCount() {
+        return n;
+    }
+
+    public long edgeCount() {
+        return edges;
+    }
+
+    /***
+     * Adds a vertex without edges at the end of the order
+     * @return id of the new vertex
+     */
+    public int addVertex() {
+        if (n == ord.length) {
+            int cap = ord.length * 2;
+            ord = Arrays.copyOf(ord, cap);
+            node = Arrays.copyOf(node, cap);
+            out = Arrays.copyOf(out, cap);
+            in = Arrays.copyOf(in, cap);
+            outSize = Arrays.copyOf(outSize, cap);
+            inSize = Arrays.copyOf(inSize, cap);
+            mark = Arrays.copyOf(mark, cap);
+        }
+        ord[n] = n;
+        node[n] = n;
+        return n++;
+    }
+
+    /***
+     * Position of v in the current topological order
+     */
+    public int order(int v) {
+        return ord[v];
+    }
+
+    /***
+     * Vertex at position i of the current topological order
+     */
+    public int vertexAt(int i) {
+        return node[i];
+    }
+
+    /***
+     * Current topological order (a copy)
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(node, n);
+    }
+
+    public boolean hasEdge(int u, int v) {
+        for (int i = 0; i < outSize[u]; i++) {
+            if (out[u][i] == v) return true;
+        }
+        return false;
+    }
+
+    /***
+     * Inserts u→v and repairs the order around it
+     * @return true if the edge was added, false if it would create a cycle (the structure is left unchanged)
+     */
+    public boolean addEdge(int u, int v) {
+        if (u < 0 || u >= n) throw new IndexOutOfBoundsException("vertex out of range: " + u);
+        if (v < 0 || v >= n) throw new IndexOutOfBoundsException("vertex out of range: " + v);
+        if (u == v) return false;
+        int lb = ord[v], ub = ord[u];
+        if (ub < lb) {
+            link(u, v);
+            return true;
+        }
+
+        boolean acyclic = forward(v, ub);
+        if (acyclic) {
+            backward(u, lb);
+            reorder();
+        }
+        for (int i = 0; i < fCount; i++) mark[deltaF[i]] = false;
+        for (int i = 0; i < bCount; i++) mark[deltaB[i]] = false;
+        fCount = bCount = 0;
+
+        if (acyclic) link(u, v);
+        return acyclic;
+    }
+
+    /***
+     * Removes one copy of u→v
+     * @return false if there was no such edge
+     */
+    public boolean removeEdge(int u, int v) {
+        if (!remove(out, outSize, u, v)) return false;
+        remove(in, inSize, v, u);
+        edges--;
+        return true;
+    }
+
+    /***
+     * Collects into deltaF the vertices reachable from v whose position is below ub
+     * @return false if the vertex at position ub (the tail of the new edge) is reachable, i.e. the edge closes a cycle
+     */
+    private boolean forward(int v, int ub) {
+        int top = 0;
+        stack[top++] = v;
+        mark[v] = true;
+        deltaF = append(deltaF, fCount++, v);
+        while (top > 0) {
+            int w = stack[--top];
+            for (int i = 0; i < outSize[w]; i++) {
+                int x = out[w][i];
+                if (ord[x] == ub) return false;
+                if (!mark[x] && ord[x] < ub) {
+                    mark[x] = true;
+                    deltaF = append(deltaF, fCount++, x);
+                    if (top == stack.length) stack = Arrays.copyOf(stack, top * 2);
+                    stack[top++] = x;
+                }
+            }
+        }
+        return true;
+    }
+
+    /***
+     * Collects into deltaB the vertices that reach u and whose position is above lb
+     */
+    private void backward(int u, int lb) {
+        int top = 0;
+        stack[top++] = u;
+        mark[u] = true;
+        deltaB = append(deltaB, bCount++, u);
+        while (top > 0) {
+            int w = stack[--top];
+            for (int i = 0; i < inSize[w]; i++) {
+                int x = in[w][i];
+                if (!mark[x] && ord[x] > lb) {
+                    mark[x] = true;
+                    deltaB = append(deltaB, bCount++, x);
+                    if (top == stack.length) stack = Arrays.copyOf(stack, top * 2);
+                    stack[top++] = x;
+                }
+            }
+        }
+    }
+
+    /***
+     * Moves deltaB (in its current relative order) and then deltaF (same) into the sorted pool of their positions
+     */
+    private void reorder() {
+        int total = bCount + fCount;
+        if (total > keys.length) {
+            keys = new long[Math.max(total, keys.length * 2)];
+            slots = new int[keys.length];
+        }
+        for (int i = 0; i < bCount; i++) keys[i] = (long) ord[deltaB[i]] << 32 | deltaB[i];
+        for (int i = 0; i < fCount; i++) keys[bCount + i] = (long) ord[deltaF[i]] << 32 | deltaF[i];
+        Arrays.sort(keys, 0, bCount);
+        Arrays.sort(keys, bCount, total);
+
+        for (int i = 0; i < total; i++) slots[i] = (int) (keys[i] >>> 32);
+        Arrays.sort(slots, 0, total);
+
+        for (int i = 0; i < total; i++) {
+            int w = (int) keys[i];
+            ord[w] = slots[i];
+            node[slots[i]] = w;
+        }
+    }
+
+    private void link(int u, int v) {
+        out[u] = append(out[u] == null ? new int[2] : out[u], outSize[u]++, v);
+        in[v] = append(in[v] == null ? new int[2] : in[v], inSize[v]++, u);
+        edges++;
+    }
+
+    private static boolean remove(int[][] adj, int[] size, int u, int v) {
+        int[] list = adj[u];
+        for (int i = 0; i < size[u]; i++) {
+            if (list[i] == v) {
+                list[i] = list[--size[u]];
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] append(int[] array, int at, int value) {
+        if (at == array.length) array = Arrays.copyOf(array, at * 2);
+        array[at] = value;
+        return array;
+    }
+}
@@ -0,0 +1,81 @@
+package graph;
+
+import java.util.*;
+
+/***
+ * Growable edge list backed by primitive arrays.
+ * <br>
+ * Edge i goes from from[i] to to[i] with weight weights[i] (weights is null for unweighted lists).
+ * Used as the input for building a {@link CSRGraph} and by algorithms that work directly on edges (Bellman–Ford, Kruskal).
+ * <br>
+ * Space complexity: 8 bytes per edge (12 when weighted), no Edge objects
+ */
+public final class EdgeList {
+    public int[] from;
+    public int[] to;
+    public int[] weights;
+    private int size;
+
+    public EdgeList(int capacity, boolean weighted) {
+        capacity = Math.max(capacity, 1);
+        from = new int[capacity];
+        to = new int[capacity];
+        weights = weighted ? new int[capacity] : null;
+    }
+
+    /***
+     * Wraps existing arrays without copying
+     * @param weights may be null for an unweighted list
+     */
+    public EdgeList(int[] from, int[] to, int[] weights) {
+        if (from.length != to.length || (weights != null && weights.length != from.length))
+            throw new IllegalArgumentException("edge arrays must have the same length");
+        this.from = from;
+        this.to = to;
+        this.weights = weights;
+        this.size = from.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isWeighted() {
+        return weights != null;
+    }
+
+    public void add(int u, int v) {
+        if (weights != null) throw new IllegalStateException("weighted edge list needs a weight");
+        grow();
+        from[size] = u;
+        to[size] = v;
+        size++;
+    }
+
+    public void add(int u, int v, int weight) {
+        if (weights == null) throw new IllegalStateException("unweighted edge list cannot store a weight");
+        grow();
+        from[size] = u;
+        to[size] = v;
+        weights[size] = weight;
+        size++;
+    }
+
+    /***
+     * Shrinks the backing arrays to exactly size() elements
+     */
+    public void trim() {
+        if (from.length == size) return;
+        from = Arrays.copyOf(from, size);
+        to = Arrays.copyOf(to, size);
+        if (weights != null) weights = Arrays.copyOf(weights, size);
+    }
+
+    private void grow() {
+        if (size < from.length) return;
+        int capacity = from.length + (from.length >> 1) + 1;
+        from = Arrays.copyOf(from, capacity);
+        to = Arrays.copyOf(to, capacity);
+        if (weights != null) weights = Arrays.copyOf(weights, capacity);
+    }
+}
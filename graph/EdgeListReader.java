@@ -0,0 +1,438 @@
+package graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/***
+ * Parallel reader for large text edge lists, producing primitive edge arrays ({@link EdgeList}) ready for
+ * {@link CSRGraph#fromEdgeList}, {@link MappedGraph#write(Path, int, EdgeList, boolean)}, KruskalMST or BellmanFord.
+ * <br>
+ * Supported formats:
+ * <ul>
+ *     <li><b>SNAP / TSV:</b> one edge per line, "u v" or "u v w" separated by spaces or tabs, 0-based ids.
+ *     Lines starting with '#' or '%' are comments. The graph is weighted if the first edge line has a third column
+ *     (missing weights then default to 1).</li>
+ *     <li><b>DIMACS .gr</b> (9th DIMACS challenge): "p sp n m" header, edges "a u v w" with 1-based ids, comment
+ *     lines starting with 'c'.</li>
+ *     <li><b>MatrixMarket .mtx</b> coordinate format: "%%MatrixMarket matrix coordinate pattern|integer|real
+ *     general|symmetric" banner, '%' comments, "rows cols entries" size line, then "i j [value]" with 1-based ids.
+ *     Real values are rounded to the nearest int. Symmetric files store each edge once; see {@link Result#symmetric}.</li>
+ * </ul>
+ * How it reads:
+ * <ul>
+ *     <li>The file is split into chunks of about 8 MiB that end on a line break, each memory-mapped on its own and
+ *     copied into a byte[] by the worker parsing it.</li>
+ *     <li>Pass 1 counts the edge lines of every chunk in parallel by looking only at their first character;
+ *     prefix sums of the counts give every chunk its exact output position, so the edge arrays are allocated once
+ *     at their final size.</li>
+ *     <li>Pass 2 parses the chunks in parallel straight into the arrays. Numbers are parsed from bytes, so no
+ *     String or boxed value is created per line.</li>
+ * </ul>
+ * Edges keep their order from the file. Vertex ids must lie in [0, Integer.MAX_VALUE) once made 0-based, and weights
+ * (after rounding) must fit in an int; anything else is a malformed line rather than a silently wrapped value.
+ */
+public final class EdgeListReader {
+    private static final int CHUNK = 8 << 20;
+
+    public enum Format {
+        SNAP, DIMACS, MATRIX_MARKET;
+
+        /***
+         * Guesses the format from the file extension: .gr is DIMACS, .mtx is MatrixMarket, anything else SNAP
+         */
+        public static Format of(Path path) {
+            String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".gr")) return DIMACS;
+            if (name.endsWith(".mtx")) return MATRIX_MARKET;
+            return SNAP;
+        }
+    }
+
+    public static final class Result {
+        public final EdgeList edges;
+        /** Declared vertex count (DIMACS, MatrixMarket) or largest id + 1 (SNAP) */
+        public final int vertexCount;
+        /** True for symmetric MatrixMarket files: every edge should also be used in the other direction */
+        public final boolean symmetric;
+
+        Result(EdgeList edges, int vertexCount, boolean symmetric) {
+            this.edges = edges;
+            this.vertexCount = vertexCount;
+            this.symmetric = symmetric;
+        }
+
+        /***
+         * Builds the CSR graph; symmetric inputs are always stored in both directions
+         */
+        public CSRGraph toCSRGraph(boolean directed) {
+            return CSRGraph.fromEdgeList(vertexCount, edges, directed && !symmetric);
+        }
+    }
+
+    public static Result read(Path path) throws IOException {
+        return read(path, Format.of(path));
+    }
+
+    /***
+     * @throws IOException if the file cannot be read or a line is malformed
+     */
+    public static Result read(Path path, Format format) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Header header = readHeader(channel, format);
+            List<MappedByteBuffer> chunks = split(channel, header.dataStart);
+
+            // pass 1: count edges per chunk
+            int[] counts = new int[chunks.size()];
+            parallel(chunks.size(), c -> counts[c] = new LineParser(chunks.get(c), format, header, null, null, null, 0).run());
+
+            long total = 0;
+            int[] starts = new int[chunks.size()];
+            for (int c = 0; c < chunks.size(); c++) {
+                if (total + counts[c] > Integer.MAX_VALUE - 8) throw new IOException("too many edges for an EdgeList: more than " + total);
+                starts[c] = (int) total;
+                total += counts[c];
+            }
+
+            // pass 2: parse straight into the final arrays
+            int m = (int) total;
+            int[] from = new int[m], to = new int[m];
+            int[] weights = header.weighted ? new int[m] : null;
+            int[] maxIds = new int[chunks.size()];
+            parallel(chunks.size(), c -> {
+                LineParser parser = new LineParser(chunks.get(c), format, header, from, to, weights, starts[c]);
+                parser.run();
+                maxIds[c] = parser.maxId;
+            });
+
+            int maxId = -1;
+            for (int id : maxIds) maxId = Math.max(maxId, id);
+            int n = header.vertexCount >= 0 ? header.vertexCount : maxId + 1;
+            if (maxId >= n) throw new IOException("vertex id " + (maxId + 1) + " exceeds the declared vertex count " + n);
+            return new Result(new EdgeList(from, to, weights), n, header.symmetric);
+        }
+    }
+
+    /***
+     * What the first lines say about the rest of the file
+     */
+    private static final class Header {
+        long dataStart;
+        int vertexCount = -1;
+        boolean weighted, symmetric, realValues;
+    }
+
+    private static Header readHeader(FileChannel channel, Format format) throws IOException {
+        Header header = new Header();
+        long position = 0;
+        String line;
+        switch (format) {
+            case DIMACS:
+                header.weighted = true;
+                while ((line = readLine(channel, position)) != null) {
+                    position += line.length() + 1;
+                    if (line.startsWith("p")) {
+                        String[] parts = line.trim().split("\\s+");
+                        if (parts.length < 4) throw new IOException("malformed DIMACS problem line: " + line);
+                        header.vertexCount = parseCount(parts[2], line);
+                        break;
+                    }
+                    if (line.startsWith("a")) throw new IOException("DIMACS arc before the problem line");
+                }
+                if (header.vertexCount < 0) throw new IOException("missing DIMACS problem line");
+                header.dataStart = position;
+                return header;
+
+            case MATRIX_MARKET:
+                line = readLine(channel, 0);
+                if (line == null || !line.toLowerCase(Locale.ROOT).startsWith("%%matrixmarket")) throw new IOException("missing MatrixMarket banner");
+                String[] banner = line.trim().toLowerCase(Locale.ROOT).split("\\s+");
+                if (banner.length < 5 || !banner[1].equals("matrix") || !banner[2].equals("coordinate"))
+                    throw new IOException("only coordinate MatrixMarket matrices are supported: " + line);
+                switch (banner[3]) {
+                    case "pattern": break;
+                    case "integer": header.weighted = true; break;
+                    case "real": header.weighted = header.realValues = true; break;
+                    default: throw new IOException("unsupported MatrixMarket field: " + banner[3]);
+                }
+                header.symmetric = banner[4].equals("symmetric");
+                if (!header.symmetric && !banner[4].equals("general")) throw new IOException("unsupported MatrixMarket symmetry: " + banner[4]);
+
+                position = line.length() + 1;
+                while ((line = readLine(channel, position)) != null) {
+                    position += line.length() + 1;
+                    if (line.isBlank() || line.startsWith("%")) continue;
+                    String[] size = line.trim().split("\\s+");
+                    if (size.length < 3) throw new IOException("malformed MatrixMarket size line: " + line);
+                    header.vertexCount = Math.max(parseCount(size[0], line), parseCount(size[1], line));
+                    break;
+                }
+                if (header.vertexCount < 0) throw new IOException("missing MatrixMarket size line");
+                header.dataStart = position;
+                return header;
+
+            default:
+                while ((line = readLine(channel, position)) != null) {
+                    position += line.length() + 1;
+                    String trimmed = line.trim();
+                    if (trimmed.isEmpty() || trimmed.startsWith("#") || trimmed.startsWith("%")) continue;
+                    header.weighted = trimmed.split("\\s+").length >= 3;
+                    break;
+                }
+                header.dataStart = 0;
+                return header;
+        }
+    }
+
+    private static int parseCount(String value, String line) throws IOException {
+        try {
+            long count = Long.parseLong(value);
+            if (count < 0 || count >= Integer.MAX_VALUE) throw new IOException("count out of range in: " + line);
+            return (int) count;
+        } catch (NumberFormatException e) {
+            throw new IOException("malformed header line: " + line);
+        }
+    }
+
+    /***
+     * The line starting at position without its '\n' (and '\r'), or null at the end of the file.
+     * Only used for the few header lines.
+     */
+    private static String readLine(FileChannel channel, long position) throws IOException {
+        if (position >= channel.size()) return null;
+        StringBuilder line = new StringBuilder();
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        while (true) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) break;
+            for (int i = 0; i < read; i++) {
+                byte b = buffer.get(i);
+                if (b == '\n') return line.toString();
+                line.append((char) b);
+            }
+            position += read;
+        }
+        return line.toString();
+    }
+
+    /***
+     * Splits [start, size) into mapped chunks of about CHUNK bytes, each ending right after a '\n' (or at the end)
+     */
+    private static List<MappedByteBuffer> split(FileChannel channel, long start) throws IOException {
+        long size = channel.size();
+        List<MappedByteBuffer> chunks = new ArrayList<>();
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        while (start < size) {
+            long end = Math.min(size, start + CHUNK);
+            // extend to the next line break so no line is split
+            boolean found = end == size;
+            while (!found) {
+                probe.clear();
+                int read = channel.read(probe, end);
+                if (read <= 0) {
+                    end = size;
+                    break;
+                }
+                for (int i = 0; i < read; i++) {
+                    if (probe.get(i) == '\n') {
+                        end += i + 1;
+                        found = true;
+                        break;
+                    }
+                }
+                if (!found) end += read;
+            }
+            if (end - start > Integer.MAX_VALUE) throw new IOException("line longer than 2 GiB at byte " + start);
+            chunks.add(channel.map(FileChannel.MapMode.READ_ONLY, start, end - start));
+            start = end;
+        }
+        return chunks;
+    }
+
+    private interface ChunkTask {
+        void run(int chunk) throws IOException;
+    }
+
+    private static void parallel(int chunks, ChunkTask task) throws IOException {
+        try {
+            IntStream.range(0, chunks).parallel().forEach(c -> {
+                try {
+                    task.run(c);
+                } catch (IOException e) {
+                    throw new java.io.UncheckedIOException(e);
+                }
+            });
+        } catch (java.io.UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /***
+     * Parses the edge lines of one chunk. With null output arrays it only counts them.
+     */
+    private static final class LineParser {
+        private final MappedByteBuffer chunk;
+        private final Format format;
+        private final Header header;
+        private final int[] from, to, weights;
+        private byte[] buf;
+        private int at;
+        private int pos;
+        int maxId = -1;
+
+        LineParser(MappedByteBuffer chunk, Format format, Header header, int[] from, int[] to, int[] weights, int at) {
+            this.chunk = chunk;
+            this.format = format;
+            this.header = header;
+            this.from = from;
+            this.to = to;
+            this.weights = weights;
+            this.at = at;
+        }
+
+        /***
+         * @return number of edge lines in the chunk
+         */
+        int run() throws IOException {
+            buf = new byte[chunk.capacity()];
+            chunk.get(0, buf);
+            int limit = buf.length;
+            int count = 0;
+            while (pos < limit) {
+                int lineEnd = pos;
+                while (lineEnd < limit && buf[lineEnd] != '\n') lineEnd++;
+                skipSpaces(lineEnd);
+                if (pos < lineEnd && isEdgeLine(buf[pos])) {
+                    if (from != null) parseEdge(lineEnd);
+                    count++;
+                }
+                pos = lineEnd + 1;
+            }
+            return count;
+        }
+
+        private boolean isEdgeLine(byte first) {
+            switch (format) {
+                case DIMACS: return first == 'a';
+                case MATRIX_MARKET: return first != '%';
+                default: return first != '#' && first != '%';
+            }
+        }
+
+        private void parseEdge(int end) throws IOException {
+            int base = 0;
+            if (format == Format.DIMACS) {
+                pos++; // 'a'
+                base = 1;
+            } else if (format == Format.MATRIX_MARKET) {
+                base = 1;
+            }
+
+            int u = parseId(end, base);
+            int v = parseId(end, base);
+            maxId = Math.max(maxId, Math.max(u, v));
+            int w = 1;
+            if (header.weighted) {
+                skipSpaces(end);
+                if (pos < end) w = header.realValues ? roundWeight(parseDecimal(end)) : parseWeight(end);
+                else if (format != Format.SNAP) throw malformed();
+            }
+
+            from[at] = u;
+            to[at] = v;
+            if (weights != null) weights[at] = w;
+            at++;
+        }
+
+        /***
+         * Vertex id shifted to 0-based; ids must land in [0, Integer.MAX_VALUE) so that n = maxId + 1 fits in an int
+         */
+        private int parseId(int end, int base) throws IOException {
+            long id = parseLong(end) - base;
+            if (id < 0 || id >= Integer.MAX_VALUE) throw malformed();
+            return (int) id;
+        }
+
+        private int parseWeight(int end) throws IOException {
+            long w = parseLong(end);
+            if (w < Integer.MIN_VALUE || w > Integer.MAX_VALUE) throw malformed();
+            return (int) w;
+        }
+
+        private int roundWeight(double w) throws IOException {
+            // also rejects NaN, which fails both comparisons
+            if (!(w >= Integer.MIN_VALUE - 0.5 && w < Integer.MAX_VALUE + 0.5)) throw malformed();
+            return (int) Math.round(w);
+        }
+
+        private void skipSpaces(int end) {
+            while (pos < end) {
+                byte b = buf[pos];
+                if (b != ' ' && b != '\t' && b != '\r') break;
+                pos++;
+            }
+        }
+
+        private long parseLong(int end) throws IOException {
+            skipSpaces(end);
+            boolean negative = false;
+            if (pos < end && (buf[pos] == '-' || buf[pos] == '+')) negative = buf[pos++] == '-';
+            int digits = 0;
+            long value = 0;
+            while (pos < end) {
+                int d = buf[pos] - '0';
+                if (d < 0 || d > 9) break;
+                value = value * 10 + d;
+                pos++;
+                digits++;
+            }
+            if (digits == 0 || digits > 18) throw malformed();
+            return negative ? -value : value;
+        }
+
+        /***
+         * [-+]digits[.digits][(e|E)[-+]digits], without creating a String
+         */
+        private double parseDecimal(int end) throws IOException {
+            skipSpaces(end);
+            boolean negative = false;
+            if (pos < end && (buf[pos] == '-' || buf[pos] == '+')) negative = buf[pos++] == '-';
+            double value = 0;
+            int digits = 0;
+            while (pos < end && buf[pos] >= '0' && buf[pos] <= '9') {
+                value = value * 10 + (buf[pos++] - '0');
+                digits++;
+            }
+            if (pos < end && buf[pos] == '.') {
+                pos++;
+                double scale = 0.1;
+                while (pos < end && buf[pos] >= '0' && buf[pos] <= '9') {
+                    value += (buf[pos++] - '0') * scale;
+                    scale /= 10;
+                    digits++;
+                }
+            }
+            if (digits == 0) throw malformed();
+            if (pos < end && (buf[pos] == 'e' || buf[pos] == 'E')) {
+                pos++;
+                value *= Math.pow(10, parseLong(end));
+            }
+            return negative ? -value : value;
+        }
+
+        private IOException malformed() {
+            int lineStart = pos;
+            while (lineStart > 0 && buf[lineStart - 1] != '\n') lineStart--;
+            int lineEnd = pos;
+            while (lineEnd < buf.length && buf[lineEnd] != '\n' && lineEnd - lineStart < 200) lineEnd++;
+            String line = new String(buf, lineStart, lineEnd - lineStart, java.nio.charset.StandardCharsets.US_ASCII).trim();
+            return new IOException("malformed " + format + " edge line: " + line);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package graph;
+
+import java.util.*;
+
+/***
+ * Indexed d-ary min-heap over the ids 0..n-1 with long keys.
+ * <br>
+ * Every id is in the heap at most once and its position is tracked, so a shorter tentative distance is applied
+ * with {@link #decreaseKey(int, long)} instead of pushing a duplicate entry (the "lazy deletion" approach).
+ * The heap therefore never holds more than n entries.
+ * <br>
+ * Time complexity: O(log_d N) insert / decreaseKey, O(d * log_d N) pollMin, Space complexity: O(N)
+ * <br><br>
+ * A 4-ary heap is shallower than a binary heap and its children share a cache line, which usually wins for
+ * Dijkstra/Prim where decreaseKey is much more frequent than pollMin.
+ */
+public final class IndexedDaryHeap implements IndexedMinHeap {
+    private final int d;
+    private final int[] heap;   // heap position -> id
+    private final int[] pos;    // id -> heap position, -1 if absent
+    private final long[] keys;  // id -> key
+    private int size;
+
+    public IndexedDaryHeap(int n) {
+        this(n, 4);
+    }
+
+    public IndexedDaryHeap(int n, int arity) {
+        if (arity < 2) throw new IllegalArgumentException("arity must be at least 2");
+        d = arity;
+        heap = new int[n];
+        pos = new int[n];
+        keys = new long[n];
+        Arrays.fill(pos, -1);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int id) {
+        return pos[id] >= 0;
+    }
+
+    public long keyOf(int id) {
+        return keys[id];
+    }
+
+    public int peekMin() {
+        if (size == 0) throw new NoSuchElementException();
+        return heap[0];
+    }
+
+    public long minKey() {
+        if (size == 0) throw new NoSuchElementException();
+        return keys[heap[0]];
+    }
+
+    public void insert(int id, long key) {
+        if (pos[id] >= 0) throw new IllegalStateException("id " + id + " is already in the heap");
+        keys[id] = key;
+        heap[size] = id;
+        pos[id] = size;
+        siftUp(size++);
+    }
+
+    public void decreaseKey(int id, long key) {
+        if (key > keys[id]) throw new IllegalArgumentException("new key is larger than the current key");
+        keys[id] = key;
+        siftUp(pos[id]);
+    }
+
+    /***
+     * Inserts id, or lowers its key if it is already present and key is smaller
+     * @return true if the heap changed
+     */
+    @Override
+    public boolean insertOrDecrease(int id, long key) {
+        if (pos[id] < 0) {
+            insert(id, key);
+            return true;
+        }
+        if (key < keys[id]) {
+            decreaseKey(id, key);
+            return true;
+        }
+        return false;
+    }
+
+    /***
+     * Removes the id with the smallest key and returns it
+     * @throws NoSuchElementException if the heap is empty
+     */
+    @Override
+    public int pollMin() {
+        if (size == 0) throw new NoSuchElementException();
+        int min = heap[0];
+        pos[min] = -1;
+        if (--size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            pos[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    /***
+     * Empties the heap in O(size) so it can be reused without reallocating
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) pos[heap[i]] = -1;
+        size = 0;
+    }
+
+    private void siftUp(int i) {
+        int id = heap[i];
+        long key = keys[id];
+        while (i > 0) {
+            int p = (i - 1) / d;
+            int parent = heap[p];
+            if (keys[parent] <= key) break;
+            heap[i] = parent;
+            pos[parent] = i;
+            i = p;
+        }
+        heap[i] = id;
+        pos[id] = i;
+    }
+
+    private void siftDown(int i) {
+        int id = heap[i];
+        long key = keys[id];
+        while (true) {
+            int first = d * i + 1;
+            if (first >= size) break;
+            int last = Math.min(first + d, size);
+            int best = first;
+            long bestKey = keys[heap[first]];
+            for (int c = first + 1; c < last; c++) {
+                long k = keys[heap[c]];
+                if (k < bestKey) {
+                    best = c;
+                    bestKey = k;
+                }
+            }
+            if (key <= bestKey) break;
+            int child = heap[best];
+            heap[i] = child;
+            pos[child] = i;
+            i = best;
+        }
+        heap[i] = id;
+        pos[id] = i;
+    }
+}
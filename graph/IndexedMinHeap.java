@@ -0,0 +1,20 @@
+package graph;
+
+/***
+ * Operations the sparse shortest-path engines need from an indexed priority queue over the ids 0..n-1, so one
+ * relaxation loop runs on either {@link IndexedDaryHeap} or {@link RadixHeap}.
+ */
+interface IndexedMinHeap {
+    boolean isEmpty();
+
+    /***
+     * Removes the id with the smallest key and returns it
+     */
+    int pollMin();
+
+    /***
+     * Inserts id, or lowers its key if it is already present and key is smaller
+     * @return true if the heap changed
+     */
+    boolean insertOrDecrease(int id, long key);
+}
@@ -0,0 +1,110 @@
+package graph;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/***
+ * Link: <a href="https://en.wikipedia.org/wiki/Johnson%27s_algorithm">Johnson's algorithm</a><br>
+ * All-pairs shortest paths for sparse weighted directed graphs, negative edge weights allowed.
+ * <br>
+ * Time complexity: O(V * E + V * (V + E) log V), Space complexity: O(V + E) plus O(V) per worker thread
+ * <br><br>
+ * Algorithm:
+ * <ul>
+ *     <li>Add a virtual vertex q with a 0-weight edge to every vertex and run Bellman–Ford (SPFA) from q.
+ *     h(v) = dist(q, v) is a potential; a negative cycle makes the graph unsolvable.</li>
+ *     <li>Reweight every edge u→v to w + h(u) - h(v), which is never negative and keeps shortest paths the same.</li>
+ *     <li>Run Dijkstra from every source on the reweighted graph and undo the reweighting:
+ *     dist(s, v) = dist'(s, v) - h(s) + h(v).</li>
+ * </ul>
+ * Compared to {@link FloydWarshall} (O(V³) time, O(V²) memory), this is much faster when E is close to V,
+ * and because rows are handed to a consumer one by one the V×V matrix never has to exist in memory.
+ */
+public class Johnson {
+
+    /***
+     * Receives one row of the distance matrix. Called concurrently from several threads when running in parallel;
+     * the dist array is reused for the next row once accept returns, so copy what must be kept.
+     */
+    public interface RowConsumer {
+        void accept(int source, long[] dist);
+    }
+
+    /***
+     * Streams the shortest distances from every vertex, computed in parallel.
+     * Unreachable vertices have distance {@link ShortestPaths#UNREACHABLE}.
+     * @throws IllegalArgumentException if the graph contains a negative cycle
+     */
+    public static void allPairs(CSRGraph graph, RowConsumer consumer) {
+        int[] sources = new int[graph.vertexCount()];
+        for (int i = 0; i < sources.length; i++) sources[i] = i;
+        allPairs(graph, sources, consumer, true);
+    }
+
+    /***
+     * Streams the shortest distance rows of the given sources.
+     * @param graph    weighted directed CSR graph
+     * @param sources  rows to compute
+     * @param consumer receives (source, dist) for every source
+     * @param parallel run the per-source Dijkstras on the common ForkJoinPool
+     * @throws IllegalArgumentException if the graph contains a negative cycle
+     */
+    public static void allPairs(CSRGraph graph, int[] sources, RowConsumer consumer, boolean parallel) {
+        long[] h = potentials(graph);
+        CSRGraph reweighted = reweight(graph, h);
+        int n = graph.vertexCount();
+
+        // one chunk of sources per task, so the buffers are allocated once per chunk, not once per source
+        int chunks = Math.min(sources.length, 4 * Runtime.getRuntime().availableProcessors());
+        IntStream tasks = IntStream.range(0, chunks);
+        (parallel ? tasks.parallel() : tasks).forEach(c -> {
+            long[] dist = new long[n];
+            int[] pred = new int[n];
+            IndexedDaryHeap heap = new IndexedDaryHeap(n);
+            for (int i = c; i < sources.length; i += chunks) {
+                int s = sources[i];
+                Dijkstra.shortestPathsInto(reweighted, s, dist, pred, heap);
+                for (int v = 0; v < n; v++) {
+                    if (dist[v] != ShortestPaths.UNREACHABLE) dist[v] = dist[v] - h[s] + h[v];
+                }
+                consumer.accept(s, dist);
+            }
+        });
+    }
+
+    /***
+     * Computes the potentials h(v) = shortest distance from a virtual vertex joined to every vertex by a 0-weight edge
+     * @throws IllegalArgumentException if the graph contains a negative cycle
+     */
+    public static long[] potentials(CSRGraph graph) {
+        int n = graph.vertexCount();
+        int m = graph.edgeCount();
+
+        // same edges plus vertex n with an edge to every other vertex
+        int[] offsets = Arrays.copyOf(graph.offsets, n + 2);
+        offsets[n + 1] = m + n;
+        int[] targets = Arrays.copyOf(graph.targets, m + n);
+        long[] weights = new long[m + n];
+        for (int e = 0; e < m; e++) weights[e] = graph.weight(e);
+        for (int v = 0; v < n; v++) targets[m + v] = v;
+
+        BellmanFord.Result result = BellmanFord.spfa(new CSRGraph(offsets, targets, null, weights), n);
+        if (result.hasNegativeCycle())
+            throw new IllegalArgumentException("graph contains a negative cycle: " + Arrays.toString(result.negativeCycle));
+        return Arrays.copyOf(result.paths.dist, n);
+    }
+
+    /***
+     * Returns a copy of the graph sharing offsets and targets, with weights w(u, v) + h(u) - h(v)
+     */
+    public static CSRGraph reweight(CSRGraph graph, long[] h) {
+        int n = graph.vertexCount();
+        long[] weights = new long[graph.edgeCount()];
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.offsets[u], end = graph.offsets[u + 1]; e < end; e++) {
+                weights[e] = graph.weight(e) + h[u] - h[graph.targets[e]];
+            }
+        }
+        return new CSRGraph(graph.offsets, graph.targets, null, weights);
+    }
+}
@@ -1,6 +1,8 @@
 package graph;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
 
 /***
  * Link: <a href="https://cp-algorithms.com/graph/mst_kruskal.html">CP algorithm link</a><br>
@@ -38,10 +40,10 @@ public class KruskalMST {
     /**
      * Represents an edge in the graph.
      */
-    static class Edge {
+    public static class Edge {
         int u, v, weight;
 
-        Edge(int u, int v, int weight) {
+        public Edge(int u, int v, int weight) {
             this.u = u;
             this.v = v;
             this.weight = weight;
@@ -99,4 +101,184 @@ public class KruskalMST {
         // If graph is disconnected (not enough edges used), MST not possible
         return edgesUsed == n - 1 ? totalCost : Integer.MAX_VALUE;
     }
+
+    private static final int FILTER_BASE = 1 << 15;
+
+    /**
+     * Minimum spanning forest: the chosen edges (indices into the input edge list) and their total weight.
+     */
+    public static final class Result {
+        public final int[] edges;
+        public final long totalWeight;
+        public final int components;
+
+        Result(int[] edges, long totalWeight, int n) {
+            this.edges = edges;
+            this.totalWeight = totalWeight;
+            this.components = n - edges.length;
+        }
+
+        /** true if the forest is a single tree (the graph is connected) */
+        public boolean isSpanningTree() {
+            return components <= 1;
+        }
+    }
+
+    /**
+     * Kruskal on a primitive edge list. Each edge is packed into one long (weight in the high half, edge index in
+     * the low half) and the longs are sorted with Arrays.parallelSort, so there is no Edge object or comparator.
+     * @param n     number of vertices
+     * @param edges weighted undirected edges
+     * @return minimum spanning forest (a tree if the graph is connected)
+     */
+    public static Result kruskal(int n, EdgeList edges) {
+        long[] keys = packedKeys(edges);
+        Arrays.parallelSort(keys);
+
+        graph.DSU dsu = new graph.DSU(n);
+        ForestBuilder forest = new ForestBuilder(n, edges);
+        for (long key : keys) {
+            int e = (int) key;
+            if (dsu.union(edges.from[e], edges.to[e])) {
+                forest.add(e);
+                if (forest.isComplete()) break;
+            }
+        }
+        return forest.build();
+    }
+
+    /**
+     * Filter-Kruskal (Osipov, Sanders, Singler): quicksort-style partition of the edges around a pivot weight,
+     * recurse on the light half first, then drop every heavy edge whose endpoints are already connected before
+     * recursing on the heavy half. On graphs with many more edges than vertices most heavy edges are filtered
+     * out without ever being sorted.
+     * <p>
+     * Time complexity: O(E + V log V log(E/V)) expected for random weights, Space complexity: O(E)
+     * <p>
+     * Partition and filter steps run in parallel on the common ForkJoinPool.
+     */
+    public static Result filterKruskal(int n, EdgeList edges) {
+        ConcurrentDSU dsu = new ConcurrentDSU(n);
+        ForestBuilder forest = new ForestBuilder(n, edges);
+        filterKruskal(packedKeys(edges), edges, dsu, forest, new Random(n));
+        return forest.build();
+    }
+
+    private static void filterKruskal(long[] keys, EdgeList edges, ConcurrentDSU dsu, ForestBuilder forest, Random random) {
+        if (keys.length == 0 || forest.isComplete()) return;
+
+        if (keys.length > FILTER_BASE) {
+            long pivot = medianOfThree(keys[random.nextInt(keys.length)], keys[random.nextInt(keys.length)], keys[random.nextInt(keys.length)]);
+            long[] light = Arrays.stream(keys).parallel().filter(k -> k <= pivot).toArray();
+            if (light.length < keys.length) {
+                long[] heavy = Arrays.stream(keys).parallel().filter(k -> k > pivot).toArray();
+                filterKruskal(light, edges, dsu, forest, random);
+                if (forest.isComplete()) return;
+                // no unions run during the filter, so the concurrent finds see a stable forest
+                long[] remaining = Arrays.stream(heavy).parallel()
+                        .filter(k -> !dsu.connected(edges.from[(int) k], edges.to[(int) k]))
+                        .toArray();
+                filterKruskal(remaining, edges, dsu, forest, random);
+                return;
+            }
+        }
+
+        Arrays.parallelSort(keys);
+        for (long key : keys) {
+            int e = (int) key;
+            if (dsu.union(edges.from[e], edges.to[e])) {
+                forest.add(e);
+                if (forest.isComplete()) return;
+            }
+        }
+    }
+
+    /**
+     * Parallel Borůvka. Every round, each component picks its lightest outgoing edge (a parallel scan over the
+     * remaining edges with a compare-and-set minimum per component), all picked edges are added at once, and
+     * edges inside a component are dropped. The number of components at least halves per round.
+     * <p>
+     * Time complexity: O(E log V) work in O(log V) rounds, Space complexity: O(V + E)
+     * <p>
+     * Ties are broken by edge index (the packed key), which makes the picked edges consistent and cycle-free.
+     */
+    public static Result boruvka(int n, EdgeList edges) {
+        ConcurrentDSU dsu = new ConcurrentDSU(n);
+        ForestBuilder forest = new ForestBuilder(n, edges);
+        long[] alive = packedKeys(edges);
+        AtomicLongArray cheapest = new AtomicLongArray(n);
+
+        while (alive.length > 0 && !forest.isComplete()) {
+            for (int i = 0; i < n; i++) cheapest.set(i, Long.MAX_VALUE);
+
+            alive = Arrays.stream(alive).parallel().filter(key -> {
+                int e = (int) key;
+                int ru = dsu.find(edges.from[e]), rv = dsu.find(edges.to[e]);
+                if (ru == rv) return false;
+                casMin(cheapest, ru, key);
+                casMin(cheapest, rv, key);
+                return true;
+            }).toArray();
+
+            long[] picked = IntStream.range(0, n).parallel()
+                    .mapToLong(cheapest::get)
+                    .filter(key -> key != Long.MAX_VALUE)
+                    .toArray();
+            for (long key : picked) {
+                int e = (int) key;
+                // both endpoints' components may pick the same edge; the second union is a no-op
+                if (dsu.union(edges.from[e], edges.to[e])) forest.add(e);
+            }
+        }
+        return forest.build();
+    }
+
+    private static void casMin(AtomicLongArray a, int i, long value) {
+        long cur;
+        while (value < (cur = a.get(i))) {
+            if (a.compareAndSet(i, cur, value)) return;
+        }
+    }
+
+    private static long[] packedKeys(EdgeList edges) {
+        if (!edges.isWeighted()) throw new IllegalArgumentException("MST needs a weighted edge list");
+        long[] keys = new long[edges.size()];
+        for (int e = 0; e < keys.length; e++) keys[e] = ((long) edges.weights[e] << 32) | e;
+        return keys;
+    }
+
+    private static long medianOfThree(long a, long b, long c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    /**
+     * Collects the chosen edge indices (at most n - 1)
+     */
+    private static final class ForestBuilder {
+        private final int n;
+        private final EdgeList edges;
+        private final int[] chosen;
+        private int count;
+
+        ForestBuilder(int n, EdgeList edges) {
+            this.n = n;
+            this.edges = edges;
+            this.chosen = new int[Math.max(0, n - 1)];
+        }
+
+        void add(int e) {
+            chosen[count++] = e;
+        }
+
+        boolean isComplete() {
+            return count >= n - 1;
+        }
+
+        Result build() {
+            int[] result = Arrays.copyOf(chosen, count);
+            long total = 0;
+            for (int e : result) total += edges.weights[e];
+            return new Result(result, total, n);
+        }
+    }
 }
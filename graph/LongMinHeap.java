@@ -0,0 +1,72 @@
+package graph;
+
+import java.util.*;
+
+/***
+ * Binary min-heap of primitive longs.
+ * <br>
+ * Callers pack (key, vertex) pairs into a single long as (key &lt;&lt; 32) | vertex, so the heap orders entries by key
+ * without allocating a Pair/Edge object per push. Use {@link #pack(int, int)}, {@link #key(long)} and {@link #vertex(long)}.
+ * <br>
+ * Time complexity: O(log N) push / poll, Space complexity: O(N)
+ */
+final class LongMinHeap {
+    private long[] heap;
+    private int size;
+
+    LongMinHeap(int capacity) {
+        heap = new long[Math.max(capacity, 1)];
+    }
+
+    static long pack(int key, int vertex) {
+        return ((long) key << 32) | (vertex & 0xFFFFFFFFL);
+    }
+
+    static int key(long entry) {
+        return (int) (entry >> 32);
+    }
+
+    static int vertex(long entry) {
+        return (int) entry;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    void push(long x) {
+        if (size == heap.length) heap = Arrays.copyOf(heap, size * 2);
+        int i = size++;
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (heap[p] <= x) break;
+            heap[i] = heap[p];
+            i = p;
+        }
+        heap[i] = x;
+    }
+
+    long poll() {
+        long top = heap[0];
+        long x = heap[--size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int c = 2 * i + 1;
+            if (c + 1 < size && heap[c + 1] < heap[c]) c++;
+            if (x <= heap[c]) break;
+            heap[i] = heap[c];
+            i = c;
+        }
+        heap[i] = x;
+        return top;
+    }
+}
@@ -0,0 +1,261 @@
+package graph;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/***
+ * CSR graph stored in a binary file and read through memory mapping, so opening it costs no parsing and no heap.
+ * <br>
+ * File layout (all numbers little-endian, every section 8-byte aligned):
+ * <pre>
+ * offset  size  field
+ *      0     8  magic "CSRGRAPH"
+ *      8     4  version (1)
+ *     12     4  flags: bit 0 weighted, bit 1 weights are 8-byte longs (else 4-byte ints)
+ *     16     8  vertex count V (must fit in an int)
+ *     24     8  edge count E
+ *     32     8  position of offsets: V + 1 longs, out-edges of u are [offsets[u], offsets[u + 1])
+ *     40     8  position of targets: E ints
+ *     48     8  position of weights: E ints or longs, 0 if unweighted
+ *     56     8  total file length
+ * </pre>
+ * The file is mapped read-only in 1 GiB windows ({@link FileChannel#map} is limited to 2 GiB per buffer), so
+ * graphs larger than the heap or than 2 GiB work; the OS pages data in on demand and can drop it under memory
+ * pressure. Only the O(V) arrays that the algorithms themselves allocate live on the heap.
+ * <br>
+ * The mapping stays valid until the object is garbage collected (Java 17 has no explicit unmap). Reads are
+ * absolute and never change buffer state, so one instance can be shared by concurrent readers.
+ * <br><br>
+ * {@link BFS#fullBfs(MappedGraph)}, {@link Dijkstra#shortestPaths(MappedGraph, int)} and
+ * {@link TopologicalSortingKahnsAlgorithm#findPath(MappedGraph)} run directly on the mapping.
+ */
+public final class MappedGraph {
+    private static final long MAGIC = 0x48504152_47525343L; // "CSRGRAPH" read as a little-endian long
+    private static final int VERSION = 1;
+    private static final int FLAG_WEIGHTED = 1, FLAG_LONG_WEIGHTS = 2;
+    private static final int HEADER_BYTES = 64;
+    private static final int WINDOW_SHIFT = 30;
+    private static final long WINDOW_MASK = (1L << WINDOW_SHIFT) - 1;
+
+    private final MappedByteBuffer[] windows;
+    private final int vertexCount;
+    private final long edgeCount;
+    private final long offsetsPos, targetsPos, weightsPos;
+    private final boolean longWeights;
+
+    private MappedGraph(MappedByteBuffer[] windows) throws IOException {
+        this.windows = windows;
+        long length = windows.length == 0 ? 0 : ((long) windows.length - 1 << WINDOW_SHIFT) + windows[windows.length - 1].capacity();
+        if (length < HEADER_BYTES || getLong(0) != MAGIC) throw new IOException("not a CSR graph file");
+        if (getInt(8) != VERSION) throw new IOException("unsupported CSR graph file version " + getInt(8));
+        int flags = getInt(12);
+        long n = getLong(16);
+        if (n < 0 || n >= Integer.MAX_VALUE) throw new IOException("vertex count out of range: " + n);
+        if (getLong(56) != length) throw new IOException("truncated CSR graph file: expected " + getLong(56) + " bytes, found " + length);
+
+        vertexCount = (int) n;
+        edgeCount = getLong(24);
+        offsetsPos = getLong(32);
+        targetsPos = getLong(40);
+        weightsPos = (flags & FLAG_WEIGHTED) != 0 ? getLong(48) : -1;
+        longWeights = (flags & FLAG_LONG_WEIGHTS) != 0;
+    }
+
+    /***
+     * Maps a file written by one of the write methods
+     * @throws IOException if the file cannot be read or is not a valid graph file
+     */
+    public static MappedGraph open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new MappedGraph(map(channel, FileChannel.MapMode.READ_ONLY, channel.size()));
+        }
+    }
+
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    public long edgeCount() {
+        return edgeCount;
+    }
+
+    public boolean isWeighted() {
+        return weightsPos >= 0;
+    }
+
+    /***
+     * Position of the first out-edge of u; the out-edges of u are [offset(u), offset(u + 1))
+     */
+    public long offset(int u) {
+        return getLong(offsetsPos + 8L * u);
+    }
+
+    public int degree(int u) {
+        return (int) (offset(u + 1) - offset(u));
+    }
+
+    public int target(long e) {
+        return getInt(targetsPos + 4L * e);
+    }
+
+    /***
+     * Weight of the edge stored at position e (1 for unweighted graphs, as in {@link CSRGraph#weight(int)})
+     */
+    public long weight(long e) {
+        if (weightsPos < 0) return 1;
+        return longWeights ? getLong(weightsPos + 8L * e) : getInt(weightsPos + 4L * e);
+    }
+
+    /***
+     * Asks the OS to read the whole file into the page cache now instead of on first access
+     */
+    public void prefetch() {
+        for (MappedByteBuffer window : windows) window.load();
+    }
+
+    /***
+     * Copies the graph into an in-heap CSRGraph (needs E &lt; 2^31)
+     */
+    public CSRGraph toCSRGraph() {
+        if (edgeCount > Integer.MAX_VALUE - 8) throw new IllegalStateException("too many edges for CSRGraph: " + edgeCount);
+        int n = vertexCount, m = (int) edgeCount;
+        int[] offsets = new int[n + 1];
+        for (int u = 0; u <= n; u++) offsets[u] = (int) offset(u);
+        int[] targets = new int[m];
+        for (int e = 0; e < m; e++) targets[e] = target(e);
+        int[] weights = null;
+        long[] longs = null;
+        if (isWeighted() && longWeights) {
+            longs = new long[m];
+            for (int e = 0; e < m; e++) longs[e] = weight(e);
+        } else if (isWeighted()) {
+            weights = new int[m];
+            for (int e = 0; e < m; e++) weights[e] = (int) weight(e);
+        }
+        return new CSRGraph(offsets, targets, weights, longs);
+    }
+
+    /***
+     * Writes an in-heap CSR graph
+     */
+    public static void write(Path path, CSRGraph graph) throws IOException {
+        int n = graph.vertexCount(), m = graph.edgeCount();
+        int weightBytes = graph.longWeights != null ? 8 : graph.weights != null ? 4 : 0;
+        long[] offsets = new long[n + 1];
+        for (int u = 0; u <= n; u++) offsets[u] = graph.offsets[u];
+
+        try (Writer writer = new Writer(path, n, m, weightBytes, offsets)) {
+            for (int e = 0; e < m; e++) writer.put(e, graph.targets[e], weightBytes == 0 ? 0 : graph.weight(e));
+        }
+    }
+
+    /***
+     * Converts an edge list straight into a graph file. The edges are scattered into the mapped file by source vertex
+     * (counting sort), so apart from the edge list only two O(V) long arrays are on the heap.
+     * @param n        number of vertices (0 to n-1)
+     * @param edges    edges, weighted or not
+     * @param directed if false, every edge is stored in both directions
+     */
+    public static void write(Path path, int n, EdgeList edges, boolean directed) throws IOException {
+        int size = edges.size();
+        long m = directed ? size : 2L * size;
+        long[] offsets = new long[n + 1];
+        for (int i = 0; i < size; i++) {
+            offsets[edges.from[i] + 1]++;
+            if (!directed) offsets[edges.to[i] + 1]++;
+        }
+        for (int u = 0; u < n; u++) offsets[u + 1] += offsets[u];
+
+        long[] cursor = Arrays.copyOf(offsets, n);
+        try (Writer writer = new Writer(path, n, m, edges.isWeighted() ? 4 : 0, offsets)) {
+            for (int i = 0; i < size; i++) {
+                long w = edges.isWeighted() ? edges.weights[i] : 0;
+                writer.put(cursor[edges.from[i]]++, edges.to[i], w);
+                if (!directed) writer.put(cursor[edges.to[i]]++, edges.from[i], w);
+            }
+        }
+    }
+
+    /***
+     * Lays out the header and offsets of a new file; edges are then stored at any position with put
+     */
+    private static final class Writer implements AutoCloseable {
+        private final FileChannel channel;
+        private final MappedByteBuffer[] windows;
+        private final long targetsPos, weightsPos;
+        private final int weightBytes;
+
+        Writer(Path path, int n, long m, int weightBytes, long[] offsets) throws IOException {
+            this.weightBytes = weightBytes;
+            long offsetsPos = HEADER_BYTES;
+            targetsPos = offsetsPos + 8L * (n + 1);
+            weightsPos = align8(targetsPos + 4L * m);
+            long length = weightBytes == 0 ? weightsPos : weightsPos + (long) weightBytes * m;
+
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            windows = map(channel, FileChannel.MapMode.READ_WRITE, length);
+
+            int flags = (weightBytes > 0 ? FLAG_WEIGHTED : 0) | (weightBytes == 8 ? FLAG_LONG_WEIGHTS : 0);
+            putLong(windows, 0, MAGIC);
+            putInt(windows, 8, VERSION);
+            putInt(windows, 12, flags);
+            putLong(windows, 16, n);
+            putLong(windows, 24, m);
+            putLong(windows, 32, offsetsPos);
+            putLong(windows, 40, targetsPos);
+            putLong(windows, 48, weightBytes == 0 ? 0 : weightsPos);
+            putLong(windows, 56, length);
+            for (int u = 0; u <= n; u++) putLong(windows, offsetsPos + 8L * u, offsets[u]);
+        }
+
+        void put(long e, int target, long weight) {
+            putInt(windows, targetsPos + 4L * e, target);
+            if (weightBytes == 4) putInt(windows, weightsPos + 4L * e, (int) weight);
+            else if (weightBytes == 8) putLong(windows, weightsPos + 8L * e, weight);
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (MappedByteBuffer window : windows) window.force();
+            channel.close();
+        }
+    }
+
+    private static MappedByteBuffer[] map(FileChannel channel, FileChannel.MapMode mode, long length) throws IOException {
+        int count = (int) ((length + WINDOW_MASK) >>> WINDOW_SHIFT);
+        MappedByteBuffer[] windows = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long start = (long) i << WINDOW_SHIFT;
+            windows[i] = channel.map(mode, start, Math.min(length - start, 1L << WINDOW_SHIFT));
+            windows[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return windows;
+    }
+
+    private static long align8(long position) {
+        return (position + 7) & ~7L;
+    }
+
+    // Every value is aligned to its own size and windows are 1 GiB, so no value straddles two windows
+    private int getInt(long pos) {
+        return windows[(int) (pos >>> WINDOW_SHIFT)].getInt((int) (pos & WINDOW_MASK));
+    }
+
+    private long getLong(long pos) {
+        return windows[(int) (pos >>> WINDOW_SHIFT)].getLong((int) (pos & WINDOW_MASK));
+    }
+
+    private static void putInt(MappedByteBuffer[] windows, long pos, int value) {
+        windows[(int) (pos >>> WINDOW_SHIFT)].putInt((int) (pos & WINDOW_MASK), value);
+    }
+
+    private static void putLong(MappedByteBuffer[] windows, long pos, long value) {
+        windows[(int) (pos >>> WINDOW_SHIFT)].putLong((int) (pos & WINDOW_MASK), value);
+    }
+}
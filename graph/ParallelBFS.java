@@ -0,0 +1,265 @@
+package graph;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/***
+ * Reference: Beamer, Asanović, Patterson — Direction-Optimizing Breadth-First Search (SC 2012)<br>
+ * Parallel level-synchronous BFS with direction switching, on a {@link CSRGraph}.
+ * <br>
+ * Time complexity: O(V+E) work, O(D) synchronization rounds where D is the diameter, Space complexity: O(V)
+ * <p>
+ * Every level is expanded by a ForkJoinPool. Two ways to compute the next frontier:
+ * <ul>
+ *     <li><b>Top-down:</b> every frontier vertex scans its out-edges and claims unvisited neighbours with an atomic
+ *     test-and-set on a visited bitmap. Cheap when the frontier is small.</li>
+ *     <li><b>Bottom-up:</b> every unvisited vertex scans its in-edges and stops at the first parent found in the
+ *     frontier. No atomics on the claim, and most edges are skipped when the frontier is huge.</li>
+ * </ul>
+ * The search switches to bottom-up when the frontier's out-edges exceed 1/ALPHA of the unexplored edges, and back
+ * to top-down when the frontier shrinks below V/BETA vertices. On low-diameter (social) graphs the one or two huge
+ * middle levels are where almost all the time goes, and bottom-up skips most of their edges.
+ * <p>
+ * Levels and parents are written by exactly one thread per vertex, so the result is a valid BFS tree; when several
+ * parents are possible the chosen one depends on scheduling.
+ */
+public class ParallelBFS {
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+    private static final int GRAIN = 1024;
+
+    /***
+     * level[v] = number of edges on a shortest path from the source (-1 if unreachable),
+     * parent[v] = previous vertex on that path (-1 for the source and unreachable vertices)
+     */
+    public static final class Result {
+        public final int[] level;
+        public final int[] parent;
+
+        Result(int[] level, int[] parent) {
+            this.level = level;
+            this.parent = parent;
+        }
+    }
+
+    /***
+     * Level-synchronous parallel BFS using only top-down steps (works for directed graphs without a reverse graph)
+     */
+    public static Result bfs(CSRGraph graph, int source) {
+        return bfs(graph, null, source, ForkJoinPool.commonPool());
+    }
+
+    /***
+     * Direction-optimizing parallel BFS
+     * @param graph   out-edges
+     * @param reverse in-edges used by bottom-up steps: graph itself for undirected graphs, graph.transpose() for
+     *                directed ones, or null to always go top-down
+     * @param source  starting vertex
+     * @param pool    pool that expands the frontiers
+     */
+    public static Result bfs(CSRGraph graph, CSRGraph reverse, int source, ForkJoinPool pool) {
+        int n = graph.vertexCount();
+        int[] level = new int[n];
+        int[] parent = new int[n];
+        Arrays.fill(level, -1);
+        Arrays.fill(parent, -1);
+
+        AtomicBitSet visited = new AtomicBitSet(n);
+        visited.set(source);
+        level[source] = 0;
+
+        int[] frontier = new int[n];
+        int[] next = new int[n];
+        frontier[0] = source;
+        int frontierSize = 1;
+
+        long unexploredEdges = graph.edgeCount() - graph.degree(source);
+        long frontierEdges = graph.degree(source);
+        boolean bottomUp = false;
+
+        for (int depth = 0; frontierSize > 0; depth++) {
+            if (reverse != null) {
+                if (!bottomUp && frontierEdges > unexploredEdges / ALPHA) bottomUp = true;
+                else if (bottomUp && frontierSize < n / BETA) bottomUp = false;
+            }
+
+            AtomicInteger nextSize = new AtomicInteger();
+            AtomicLong nextEdges = new AtomicLong();
+            if (bottomUp) {
+                AtomicBitSet inFrontier = new AtomicBitSet(n);
+                pool.invoke(new MarkFrontier(frontier, inFrontier, 0, frontierSize));
+                pool.invoke(new BottomUpStep(graph, reverse, inFrontier, visited, level, parent, depth + 1,
+                        next, nextSize, nextEdges, 0, n));
+            } else {
+                pool.invoke(new TopDownStep(graph, frontier, visited, level, parent, depth + 1,
+                        next, nextSize, nextEdges, 0, frontierSize));
+            }
+
+            int[] tmp = frontier;
+            frontier = next;
+            next = tmp;
+            frontierSize = nextSize.get();
+            frontierEdges = nextEdges.get();
+            unexploredEdges -= frontierEdges;
+        }
+
+        return new Result(level, parent);
+    }
+
+    /***
+     * Per-leaf buffer that is copied into the shared next frontier with one atomic reservation
+     */
+    private static void publish(int[] local, int count, long edges, int[] next, AtomicInteger nextSize, AtomicLong nextEdges) {
+        if (count == 0) return;
+        int at = nextSize.getAndAdd(count);
+        System.arraycopy(local, 0, next, at, count);
+        nextEdges.addAndGet(edges);
+    }
+
+    private static final class MarkFrontier extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] frontier;
+        private final AtomicBitSet inFrontier;
+        private final int lo, hi;
+
+        MarkFrontier(int[] frontier, AtomicBitSet inFrontier, int lo, int hi) {
+            this.frontier = frontier;
+            this.inFrontier = inFrontier;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > GRAIN * 8) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new MarkFrontier(frontier, inFrontier, lo, mid), new MarkFrontier(frontier, inFrontier, mid, hi));
+                return;
+            }
+            for (int i = lo; i < hi; i++) inFrontier.set(frontier[i]);
+        }
+    }
+
+    private static final class TopDownStep extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final CSRGraph graph;
+        private final int[] frontier;
+        private final AtomicBitSet visited;
+        private final int[] level, parent;
+        private final int depth;
+        private final int[] next;
+        private final AtomicInteger nextSize;
+        private final AtomicLong nextEdges;
+        private final int lo, hi;
+
+        TopDownStep(CSRGraph graph, int[] frontier, AtomicBitSet visited, int[] level, int[] parent, int depth,
+                    int[] next, AtomicInteger nextSize, AtomicLong nextEdges, int lo, int hi) {
+            this.graph = graph;
+            this.frontier = frontier;
+            this.visited = visited;
+            this.level = level;
+            this.parent = parent;
+            this.depth = depth;
+            this.next = next;
+            this.nextSize = nextSize;
+            this.nextEdges = nextEdges;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > GRAIN) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new TopDownStep(graph, frontier, visited, level, parent, depth, next, nextSize, nextEdges, lo, mid),
+                        new TopDownStep(graph, frontier, visited, level, parent, depth, next, nextSize, nextEdges, mid, hi));
+                return;
+            }
+
+            int[] offsets = graph.offsets, targets = graph.targets;
+            int[] local = new int[64];
+            int count = 0;
+            long edges = 0;
+            for (int i = lo; i < hi; i++) {
+                int u = frontier[i];
+                for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                    int v = targets[e];
+                    if (visited.testAndSet(v)) {
+                        level[v] = depth;
+                        parent[v] = u;
+                        if (count == local.length) local = Arrays.copyOf(local, count * 2);
+                        local[count++] = v;
+                        edges += offsets[v + 1] - offsets[v];
+                    }
+                }
+            }
+            publish(local, count, edges, next, nextSize, nextEdges);
+        }
+    }
+
+    private static final class BottomUpStep extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final CSRGraph graph, reverse;
+        private final AtomicBitSet inFrontier, visited;
+        private final int[] level, parent;
+        private final int depth;
+        private final int[] next;
+        private final AtomicInteger nextSize;
+        private final AtomicLong nextEdges;
+        private final int lo, hi;
+
+        BottomUpStep(CSRGraph graph, CSRGraph reverse, AtomicBitSet inFrontier, AtomicBitSet visited, int[] level,
+                     int[] parent, int depth, int[] next, AtomicInteger nextSize, AtomicLong nextEdges, int lo, int hi) {
+            this.graph = graph;
+            this.reverse = reverse;
+            this.inFrontier = inFrontier;
+            this.visited = visited;
+            this.level = level;
+            this.parent = parent;
+            this.depth = depth;
+            this.next = next;
+            this.nextSize = nextSize;
+            this.nextEdges = nextEdges;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > GRAIN * 4) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new BottomUpStep(graph, reverse, inFrontier, visited, level, parent, depth, next, nextSize, nextEdges, lo, mid),
+                        new BottomUpStep(graph, reverse, inFrontier, visited, level, parent, depth, next, nextSize, nextEdges, mid, hi));
+                return;
+            }
+
+            int[] inOffsets = reverse.offsets, sources = reverse.targets;
+            int[] local = new int[64];
+            int count = 0;
+            long edges = 0;
+            for (int v = lo; v < hi; v++) {
+                if (visited.get(v)) continue;
+                for (int e = inOffsets[v], end = inOffsets[v + 1]; e < end; e++) {
+                    int u = sources[e];
+                    if (inFrontier.get(u)) {
+                        // v is only ever examined by this task, so claiming it needs no compare-and-set
+                        visited.set(v);
+                        level[v] = depth;
+                        parent[v] = u;
+                        if (count == local.length) local = Arrays.copyOf(local, count * 2);
+                        local[count++] = v;
+                        edges += graph.degree(v);
+                        break;
+                    }
+                }
+            }
+            publish(local, count, edges, next, nextSize, nextEdges);
+        }
+    }
+}
@@ -38,11 +38,11 @@ public class PrimMST {
     /**
      * Represents an edge in the graph.
      */
-    static class Edge {
+    public static class Edge {
         int to;
         int weight;
 
-        Edge(int to, int weight) {
+        public Edge(int to, int weight) {
             this.to = to;
             this.weight = weight;
         }
@@ -82,6 +82,43 @@ public class PrimMST {
         return edgesUsed == n ? totalCost : Integer.MAX_VALUE;
     }
 
+    /**
+     * Prim's algorithm on a CSR graph. Heap entries are (weight, vertex) packed into a long instead of Edge objects.
+     * @param graph weighted undirected CSR graph (both directions stored)
+     * @param start starting vertex (any vertex in connected component)
+     * @return total weight of MST, or Integer.MAX_VALUE if the graph is disconnected
+     */
+    public static int prim(CSRGraph graph, int start) {
+        int n = graph.vertexCount();
+        int[] offsets = graph.offsets, targets = graph.targets;
+        boolean[] visited = new boolean[n];
+        LongMinHeap pq = new LongMinHeap(n);
+        pq.push(LongMinHeap.pack(0, start));
+
+        int totalCost = 0;
+        int edgesUsed = 0;
+
+        while (!pq.isEmpty() && edgesUsed < n) {
+            long cur = pq.poll();
+            int u = LongMinHeap.vertex(cur);
+
+            if (visited[u]) continue;
+            visited[u] = true;
+            totalCost += LongMinHeap.key(cur);
+            edgesUsed++;
+
+            for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                int v = targets[e];
+                if (!visited[v]) {
+                    pq.push(LongMinHeap.pack((int) graph.weight(e), v));
+                }
+            }
+        }
+
+        // If graph is disconnected, edgesUsed < n (no MST possible)
+        return edgesUsed == n ? totalCost : Integer.MAX_VALUE;
+    }
+
     /**
      * Builds MST for all connected components in a disconnected graph.
      */
@@ -117,4 +154,75 @@ public class PrimMST {
         }
         return totalCost;
     }
+
+    /**
+     * Minimum spanning forest as a parent array: parent[v] is the vertex v was attached from (-1 for the first vertex
+     * of every component), and every (v, parent[v]) pair is an MST edge.
+     */
+    public static final class Forest {
+        public final int[] parent;
+        public final long totalWeight;
+        public final int components;
+
+        Forest(int[] parent, long totalWeight, int components) {
+            this.parent = parent;
+            this.totalWeight = totalWeight;
+            this.components = components;
+        }
+
+        public boolean isSpanningTree() {
+            return components <= 1;
+        }
+    }
+
+    /**
+     * Eager Prim's algorithm with an indexed heap keyed by vertex.
+     * <p>
+     * Instead of pushing every adjacent edge (the lazy version above keeps O(E) entries, most of them stale),
+     * each vertex outside the tree is in the heap at most once with the weight of its cheapest edge into the tree,
+     * lowered with decrease-key. The heap never holds more than V entries and nothing is allocated per edge.
+     * Restarts from every unvisited vertex, so disconnected graphs give a spanning forest.
+     * <p>
+     * Time complexity: O(E log V), Space complexity: O(V)
+     *
+     * @param graph weighted undirected CSR graph (both directions stored)
+     * @return parent array, long total weight and number of components
+     */
+    public static Forest primEager(CSRGraph graph) {
+        int n = graph.vertexCount();
+        int[] offsets = graph.offsets, targets = graph.targets;
+        int[] parent = new int[n];
+        boolean[] inTree = new boolean[n];
+        Arrays.fill(parent, -1);
+        IndexedDaryHeap heap = new IndexedDaryHeap(n);
+
+        long total = 0;
+        int components = 0;
+        for (int root = 0; root < n; root++) {
+            if (inTree[root]) continue;
+            components++;
+            heap.insert(root, 0);
+
+            while (!heap.isEmpty()) {
+                int u = heap.pollMin();
+                inTree[u] = true;
+                if (parent[u] != -1) total += heap.keyOf(u);
+
+                for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                    int v = targets[e];
+                    if (inTree[v]) continue;
+                    long w = graph.weight(e);
+                    if (heap.insertOrDecrease(v, w)) parent[v] = u;
+                }
+            }
+        }
+        return new Forest(parent, total, components);
+    }
+
+    /**
+     * {@link #primEager(CSRGraph)} for the List&lt;List&lt;Edge&gt;&gt; adjacency list
+     */
+    public static Forest primEager(List<List<Edge>> graph) {
+        return primEager(CSRGraph.fromWeightedAdjacencyList(graph));
+    }
 }
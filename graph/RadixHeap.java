@@ -0,0 +1,152 @@
+package graph;
+
+import java.util.*;
+
+/***
+ * Indexed radix heap (monotone priority queue) over the ids 0..n-1 with non-negative long keys.
+ * <br>
+ * Keys must never be smaller than the last key removed, which holds for Dijkstra with non-negative weights.
+ * Bucket i holds the ids whose key differs from the last removed key in bit i-1 as the highest differing bit
+ * (bucket 0 holds keys equal to it). Removing the minimum only redistributes one bucket into lower ones, and an id
+ * moves down at most 64 times, so there are no comparisons between keys except when a bucket is emptied.
+ * <br>
+ * Time complexity: O(1) insert / decreaseKey, amortized O(log C) pollMin where C is the largest edge weight,
+ * Space complexity: O(N)
+ * <br><br>
+ * Best for integer weights with a small range (road networks, hop counts, latencies in ms).
+ */
+public final class RadixHeap implements IndexedMinHeap {
+    private static final int BUCKETS = 65;
+
+    private final int[][] buckets = new int[BUCKETS][];
+    private final int[] bucketSize = new int[BUCKETS];
+    private final int[] bucketOf;     // id -> bucket, -1 if absent
+    private final int[] slot;         // id -> index inside its bucket
+    private final long[] keys;
+    private long last;
+    private int size;
+
+    public RadixHeap(int n) {
+        bucketOf = new int[n];
+        slot = new int[n];
+        keys = new long[n];
+        Arrays.fill(bucketOf, -1);
+        for (int i = 0; i < BUCKETS; i++) buckets[i] = new int[4];
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int id) {
+        return bucketOf[id] >= 0;
+    }
+
+    public long keyOf(int id) {
+        return keys[id];
+    }
+
+    public void insert(int id, long key) {
+        if (bucketOf[id] >= 0) throw new IllegalStateException("id " + id + " is already in the heap");
+        if (key < last) throw new IllegalArgumentException("key " + key + " is smaller than the last removed key " + last);
+        keys[id] = key;
+        add(bucketIndex(key), id);
+        size++;
+    }
+
+    public void decreaseKey(int id, long key) {
+        if (key > keys[id]) throw new IllegalArgumentException("new key is larger than the current key");
+        if (key < last) throw new IllegalArgumentException("key " + key + " is smaller than the last removed key " + last);
+        keys[id] = key;
+        int b = bucketIndex(key);
+        if (b != bucketOf[id]) {
+            remove(id);
+            add(b, id);
+        }
+    }
+
+    /***
+     * Inserts id, or lowers its key if it is already present and key is smaller
+     * @return true if the heap changed
+     */
+    @Override
+    public boolean insertOrDecrease(int id, long key) {
+        if (bucketOf[id] < 0) {
+            insert(id, key);
+            return true;
+        }
+        if (key < keys[id]) {
+            decreaseKey(id, key);
+            return true;
+        }
+        return false;
+    }
+
+    /***
+     * Removes an id with the smallest key and returns it
+     */
+    @Override
+    public int pollMin() {
+        if (size == 0) throw new NoSuchElementException();
+        if (bucketSize[0] == 0) {
+            int b = 1;
+            while (bucketSize[b] == 0) b++;
+
+            int[] bucket = buckets[b];
+            int count = bucketSize[b];
+            long min = Long.MAX_VALUE;
+            for (int i = 0; i < count; i++) min = Math.min(min, keys[bucket[i]]);
+            last = min;
+
+            // every id of bucket b lands in a strictly lower bucket relative to the new last key
+            bucketSize[b] = 0;
+            for (int i = 0; i < count; i++) {
+                int id = bucket[i];
+                add(bucketIndex(keys[id]), id);
+            }
+        }
+        int id = buckets[0][--bucketSize[0]];
+        bucketOf[id] = -1;
+        size--;
+        return id;
+    }
+
+    /***
+     * Empties the heap and resets the monotone lower bound to 0
+     */
+    public void clear() {
+        for (int b = 0; b < BUCKETS; b++) {
+            for (int i = 0; i < bucketSize[b]; i++) bucketOf[buckets[b][i]] = -1;
+            bucketSize[b] = 0;
+        }
+        size = 0;
+        last = 0;
+    }
+
+    private int bucketIndex(long key) {
+        return key == last ? 0 : 64 - Long.numberOfLeadingZeros(key ^ last);
+    }
+
+    private void add(int b, int id) {
+        int[] bucket = buckets[b];
+        if (bucketSize[b] == bucket.length) buckets[b] = bucket = Arrays.copyOf(bucket, bucket.length * 2);
+        bucket[bucketSize[b]] = id;
+        bucketOf[id] = b;
+        slot[id] = bucketSize[b]++;
+    }
+
+    private void remove(int id) {
+        int b = bucketOf[id];
+        int[] bucket = buckets[b];
+        int i = slot[id];
+        int moved = bucket[--bucketSize[b]];
+        bucket[i] = moved;
+        slot[moved] = i;
+        bucketOf[id] = -1;
+    }
+}
@@ -0,0 +1,183 @@
+package graph;
+
+import java.util.*;
+import java.util.function.IntFunction;
+
+/***
+ * Cache of single-source shortest path results, keyed by (graph version, source) and bounded by memory.
+ * <br>
+ * Sits in front of any single-source engine, for example:
+ * <pre>
+ * ShortestPathCache cache = new ShortestPathCache(512L &lt;&lt; 20);
+ * ShortestPaths sp = cache.get(version, source, s -&gt; Dijkstra.shortestPaths(graph, s));
+ * </pre>
+ * <ul>
+ *     <li><b>Eviction:</b> least recently used first, until the estimated size (12 bytes per vertex plus a fixed
+ *     overhead per entry) fits in maxBytes. Results bigger than maxBytes on their own are returned but not kept.</li>
+ *     <li><b>Invalidation:</b> the graph version is part of the key. The first lookup with a newer version drops
+ *     every entry of older versions, so a changed graph never serves stale paths; {@link #invalidate(long)} does
+ *     the same eagerly.</li>
+ *     <li><b>Metrics:</b> hits, misses, evictions and invalidated entries, see {@link #stats()}.</li>
+ * </ul>
+ * Thread-safe. The engine runs outside the lock, so a slow search does not block hits on other sources; two
+ * threads missing on the same key at once may both compute it. Cached results are shared: callers must not modify
+ * their dist or pred arrays.
+ *
+ * Complexity:
+ * <ul>
+ *     <li>get: O(1) on a hit, one engine call on a miss</li>
+ * </ul>
+ */
+public final class ShortestPathCache {
+    private static final long ENTRY_OVERHEAD = 128;
+
+    private final long maxBytes;
+    private final LinkedHashMap<Key, ShortestPaths> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private long latestVersion = Long.MIN_VALUE;
+    private long hits, misses, evictions, invalidations;
+
+    public ShortestPathCache(long maxBytes) {
+        if (maxBytes <= 0) throw new IllegalArgumentException("maxBytes must be positive");
+        this.maxBytes = maxBytes;
+    }
+
+    /***
+     * Snapshot of the counters
+     */
+    public static final class Stats {
+        public final long hits, misses, evictions, invalidations;
+        public final int entries;
+        public final long bytes;
+
+        Stats(long hits, long misses, long evictions, long invalidations, int entries, long bytes) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.invalidations = invalidations;
+            this.entries = entries;
+            this.bytes = bytes;
+        }
+
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d misses=%d hitRate=%.3f evictions=%d invalidations=%d entries=%d bytes=%d",
+                    hits, misses, hitRate(), evictions, invalidations, entries, bytes);
+        }
+    }
+
+    /***
+     * Returns the cached result for (graphVersion, source), computing it with engine on a miss
+     * @param graphVersion version of the graph the result must belong to; bump it whenever the graph changes
+     * @param source       source vertex
+     * @param engine       computes the result for a source on the graph of this version
+     */
+    public ShortestPaths get(long graphVersion, int source, IntFunction<ShortestPaths> engine) {
+        Key key = new Key(graphVersion, source);
+        synchronized (this) {
+            if (graphVersion > latestVersion) dropOlderThan(graphVersion);
+            ShortestPaths cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+
+        ShortestPaths computed = engine.apply(source);
+        put(key, computed);
+        return computed;
+    }
+
+    /***
+     * Returns the cached result or null, without computing anything (counts as a hit or a miss)
+     */
+    public synchronized ShortestPaths getIfPresent(long graphVersion, int source) {
+        ShortestPaths cached = graphVersion < latestVersion ? null : entries.get(new Key(graphVersion, source));
+        if (cached != null) hits++;
+        else misses++;
+        return cached;
+    }
+
+    /***
+     * Drops every entry computed for a version older than graphVersion, and rejects such entries from now on
+     */
+    public synchronized void invalidate(long graphVersion) {
+        if (graphVersion > latestVersion) dropOlderThan(graphVersion);
+    }
+
+    /***
+     * Drops every entry
+     */
+    public synchronized void clear() {
+        invalidations += entries.size();
+        entries.clear();
+        bytes = 0;
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, evictions, invalidations, entries.size(), bytes);
+    }
+
+    private synchronized void put(Key key, ShortestPaths value) {
+        if (key.version < latestVersion) return; // the graph changed while this was computed
+        long size = sizeOf(value);
+        if (size > maxBytes) return;
+
+        ShortestPaths previous = entries.put(key, value);
+        if (previous != null) bytes -= sizeOf(previous);
+        bytes += size;
+
+        Iterator<Map.Entry<Key, ShortestPaths>> eldest = entries.entrySet().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<Key, ShortestPaths> entry = eldest.next();
+            bytes -= sizeOf(entry.getValue());
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    private void dropOlderThan(long version) {
+        latestVersion = version;
+        Iterator<Map.Entry<Key, ShortestPaths>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Key, ShortestPaths> entry = it.next();
+            if (entry.getKey().version < version) {
+                bytes -= sizeOf(entry.getValue());
+                it.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    private static long sizeOf(ShortestPaths paths) {
+        return ENTRY_OVERHEAD + 8L * paths.dist.length + 4L * paths.pred.length;
+    }
+
+    private static final class Key {
+        final long version;
+        final int source;
+
+        Key(long version, int source) {
+            this.version = version;
+            this.source = source;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return version == other.version && source == other.source;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(version) * 31 + source;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package graph;
+
+import java.util.*;
+
+/***
+ * Point-to-point shortest path queries with bidirectional search.
+ * <br>
+ * Instead of sweeping the whole graph from s, a forward search from s and a backward search from t (over the reverse
+ * graph) grow towards each other and stop as soon as they can prove the best meeting point. Each side only explores
+ * a ball of about half the s–t distance, which on large graphs is a tiny fraction of the vertices.
+ * <br>
+ * Time complexity: O(V+E) (BFS) / O((V+E) log V) (Dijkstra) in the worst case, usually far less.
+ * Space complexity: O(V) per instance, allocated once
+ * <br><br>
+ * Both methods accept sets of sources and targets: every source is seeded into the forward search and every target
+ * into the backward search, and the answer is the shortest path from any source to any target.
+ * <p>
+ * An instance keeps its working arrays between queries and only resets the entries a query touched, so a query costs
+ * nothing proportional to V. Instances are not thread-safe: use one per thread (the graphs can be shared).
+ */
+public final class ShortestPathQuery {
+
+    /***
+     * A shortest path: vertices from source to target inclusive, and its length (hops for BFS, total weight for Dijkstra)
+     */
+    public static final class Path {
+        public static final Path NONE = new Path(ShortestPaths.UNREACHABLE, new int[0]);
+
+        public final long distance;
+        public final int[] vertices;
+
+        Path(long distance, int[] vertices) {
+            this.distance = distance;
+            this.vertices = vertices;
+        }
+
+        public boolean exists() {
+            return vertices.length > 0;
+        }
+
+        @Override
+        public String toString() {
+            return exists() ? distance + " " + Arrays.toString(vertices) : "no path";
+        }
+    }
+
+    private final CSRGraph forward, backward;
+    private final long[] distF, distB;
+    private final int[] predF, predB;
+    private final int[] touchedF, touchedB;
+    private int touchedFCount, touchedBCount;
+    private IndexedDaryHeap heapF, heapB;
+    private int[] queueF, queueB;
+
+    /***
+     * @param graph   forward graph
+     * @param reverse reverse graph: graph itself for undirected graphs, graph.transpose() for directed ones
+     */
+    public ShortestPathQuery(CSRGraph graph, CSRGraph reverse) {
+        if (graph.vertexCount() != reverse.vertexCount())
+            throw new IllegalArgumentException("graph and reverse have different vertex counts");
+        int n = graph.vertexCount();
+        forward = graph;
+        backward = reverse;
+        distF = new long[n];
+        distB = new long[n];
+        predF = new int[n];
+        predB = new int[n];
+        touchedF = new int[n];
+        touchedB = new int[n];
+        Arrays.fill(distF, ShortestPaths.UNREACHABLE);
+        Arrays.fill(distB, ShortestPaths.UNREACHABLE);
+        Arrays.fill(predF, -1);
+        Arrays.fill(predB, -1);
+    }
+
+    public Path bfs(int source, int target) {
+        return bfs(new int[]{source}, new int[]{target});
+    }
+
+    /***
+     * Bidirectional BFS on the unweighted graph. Each round expands one full level of the side with the smaller
+     * frontier; once a level produces a meeting, the best meeting of that level is optimal.
+     */
+    public Path bfs(int[] sources, int[] targets) {
+        if (queueF == null) {
+            queueF = new int[distF.length];
+            queueB = new int[distB.length];
+        }
+        try {
+            int tailF = 0, tailB = 0;
+            for (int s : sources) {
+                if (touchF(s, 0, -1)) queueF[tailF++] = s;
+            }
+            for (int t : targets) {
+                if (touchB(t, 0, -1)) queueB[tailB++] = t;
+                if (distF[t] == 0) return buildPath(t, 0);
+            }
+
+            int headF = 0, headB = 0;
+            long best = ShortestPaths.UNREACHABLE;
+            int meet = -1;
+            while (headF < tailF && headB < tailB && meet < 0) {
+                if (tailF - headF <= tailB - headB) {
+                    int levelEnd = tailF;
+                    while (headF < levelEnd) {
+                        int u = queueF[headF++];
+                        for (int e = forward.offsets[u], end = forward.offsets[u + 1]; e < end; e++) {
+                            int v = forward.targets[e];
+                            if (touchF(v, distF[u] + 1, u)) queueF[tailF++] = v;
+                            if (distB[v] != ShortestPaths.UNREACHABLE && distF[v] + distB[v] < best) {
+                                best = distF[v] + distB[v];
+                                meet = v;
+                            }
+                        }
+                    }
+                } else {
+                    int levelEnd = tailB;
+                    while (headB < levelEnd) {
+                        int u = queueB[headB++];
+                        for (int e = backward.offsets[u], end = backward.offsets[u + 1]; e < end; e++) {
+                            int v = backward.targets[e];
+                            if (touchB(v, distB[u] + 1, u)) queueB[tailB++] = v;
+                            if (distF[v] != ShortestPaths.UNREACHABLE && distB[v] + distF[v] < best) {
+                                best = distB[v] + distF[v];
+                                meet = v;
+                            }
+                        }
+                    }
+                }
+            }
+            return meet < 0 ? Path.NONE : buildPath(meet, best);
+        } finally {
+            reset();
+        }
+    }
+
+    public Path dijkstra(int source, int target) {
+        return dijkstra(new int[]{source}, new int[]{target});
+    }
+
+    /***
+     * Bidirectional Dijkstra on non-negative weights. The side whose heap has the smaller minimum is advanced;
+     * the search stops when minF + minB is at least the best s–t distance seen so far, which is the standard
+     * stopping criterion guaranteeing optimality.
+     */
+    public Path dijkstra(int[] sources, int[] targets) {
+        if (heapF == null) {
+            heapF = new IndexedDaryHeap(distF.length);
+            heapB = new IndexedDaryHeap(distB.length);
+        }
+        try {
+            for (int s : sources) {
+                if (touchF(s, 0, -1)) heapF.insert(s, 0);
+            }
+            for (int t : targets) {
+                if (touchB(t, 0, -1)) heapB.insert(t, 0);
+                if (distF[t] == 0) return buildPath(t, 0);
+            }
+
+            long best = ShortestPaths.UNREACHABLE;
+            int meet = -1;
+            while (!heapF.isEmpty() && !heapB.isEmpty()) {
+                long minF = heapF.minKey(), minB = heapB.minKey();
+                if (best != ShortestPaths.UNREACHABLE && minF + minB >= best) break;
+
+                boolean fwd = minF <= minB;
+                CSRGraph g = fwd ? forward : backward;
+                IndexedDaryHeap heap = fwd ? heapF : heapB;
+                long[] dist = fwd ? distF : distB, other = fwd ? distB : distF;
+
+                int u = heap.pollMin();
+                long du = dist[u];
+                for (int e = g.offsets[u], end = g.offsets[u + 1]; e < end; e++) {
+                    long w = g.weight(e);
+                    if (w < 0) throw new IllegalArgumentException("negative edge weight " + w);
+                    int v = g.targets[e];
+                    long nd = du + w;
+                    if (fwd ? relaxF(v, nd, u) : relaxB(v, nd, u)) heap.insertOrDecrease(v, nd);
+                    if (other[v] != ShortestPaths.UNREACHABLE && dist[v] + other[v] < best) {
+                        best = dist[v] + other[v];
+                        meet = v;
+                    }
+                }
+            }
+            return meet < 0 ? Path.NONE : buildPath(meet, best);
+        } finally {
+            heapF.clear();
+            heapB.clear();
+            reset();
+        }
+    }
+
+    private boolean touchF(int v, long d, int p) {
+        if (distF[v] != ShortestPaths.UNREACHABLE) return false;
+        distF[v] = d;
+        predF[v] = p;
+        touchedF[touchedFCount++] = v;
+        return true;
+    }
+
+    private boolean touchB(int v, long d, int p) {
+        if (distB[v] != ShortestPaths.UNREACHABLE) return false;
+        distB[v] = d;
+        predB[v] = p;
+        touchedB[touchedBCount++] = v;
+        return true;
+    }
+
+    private boolean relaxF(int v, long d, int p) {
+        if (distF[v] == ShortestPaths.UNREACHABLE) return touchF(v, d, p);
+        if (d >= distF[v]) return false;
+        distF[v] = d;
+        predF[v] = p;
+        return true;
+    }
+
+    private boolean relaxB(int v, long d, int p) {
+        if (distB[v] == ShortestPaths.UNREACHABLE) return touchB(v, d, p);
+        if (d >= distB[v]) return false;
+        distB[v] = d;
+        predB[v] = p;
+        return true;
+    }
+
+    /***
+     * Concatenates source → meet (forward predecessors) and meet → target (backward predecessors)
+     */
+    private Path buildPath(int meet, long distance) {
+        int length = 1;
+        for (int x = meet; predF[x] != -1; x = predF[x]) length++;
+        int forwardLength = length;
+        for (int x = meet; predB[x] != -1; x = predB[x]) length++;
+
+        int[] path = new int[length];
+        for (int x = meet, i = forwardLength - 1; i >= 0; x = predF[x], i--) path[i] = x;
+        for (int x = predB[meet], i = forwardLength; x != -1; x = predB[x], i++) path[i] = x;
+        return new Path(distance, path);
+    }
+
+    private void reset() {
+        for (int i = 0; i < touchedFCount; i++) {
+            distF[touchedF[i]] = ShortestPaths.UNREACHABLE;
+            predF[touchedF[i]] = -1;
+        }
+        for (int i = 0; i < touchedBCount; i++) {
+            distB[touchedB[i]] = ShortestPaths.UNREACHABLE;
+            predB[touchedB[i]] = -1;
+        }
+        touchedFCount = 0;
+        touchedBCount = 0;
+    }
+}
@@ -0,0 +1,61 @@
+package graph;
+
+import java.util.*;
+
+/***
+ * Result of a single-source shortest path computation: a distance and a predecessor per vertex.
+ * <br>
+ * dist[v] is {@link #UNREACHABLE} if v was not reached, pred[v] is the previous vertex on a shortest path
+ * from source to v (-1 for the source and for unreached vertices). Following pred from v back to source gives the path.
+ * Multi-source searches use source = -1 and the path of v ends at the nearest of the sources.
+ * <br>
+ * Space complexity: 12 bytes per vertex
+ */
+public final class ShortestPaths {
+    public static final long UNREACHABLE = Long.MAX_VALUE;
+
+    public final int source;
+    public final long[] dist;
+    public final int[] pred;
+
+    public ShortestPaths(int source, long[] dist, int[] pred) {
+        this.source = source;
+        this.dist = dist;
+        this.pred = pred;
+    }
+
+    public int vertexCount() {
+        return dist.length;
+    }
+
+    public boolean reachable(int v) {
+        return dist[v] != UNREACHABLE;
+    }
+
+    public long distance(int v) {
+        return dist[v];
+    }
+
+    /***
+     * @return vertices of the shortest path source → v (inclusive), or an empty array if v is unreachable
+     */
+    public int[] pathTo(int v) {
+        if (!reachable(v)) return new int[0];
+        int length = 1;
+        for (int x = v; pred[x] != -1; x = pred[x]) length++;
+
+        int[] path = new int[length];
+        for (int x = v, i = length - 1; i >= 0; x = pred[x], i--) path[i] = x;
+        return path;
+    }
+
+    /***
+     * Distances as ints with -1 for unreachable vertices, the format returned by {@link Dijkstra#findMinPath(int[][], int)}
+     * @throws ArithmeticException if a reachable distance does not fit in an int (use {@link #dist} instead)
+     */
+    public int[] toIntDistances() {
+        int[] out = new int[dist.length];
+        for (int i = 0; i < dist.length; i++) out[i] = dist[i] == UNREACHABLE ? -1 : Math.toIntExact(dist[i]);
+        return out;
+    }
+}
@@ -0,0 +1,373 @@
+package graph;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/***
+ * Link: <a href="https://cp-algorithms.com/graph/strongly-connected-components.html">CP algorithm link</a><br>
+ * Strongly connected components of a directed {@link CSRGraph}, and the condensation DAG.
+ * <br>
+ * Two vertices are in the same SCC when each can reach the other. Collapsing every SCC into one vertex gives the
+ * condensation, which is always a DAG and can be ordered by {@link TopologicalSortingKahnsAlgorithm},
+ * {@link TopologicalSortDFS} or {@link ParallelTopologicalSort}.
+ * <ul>
+ *     <li><b>tarjan:</b> Tarjan's algorithm with the recursion replaced by an int call stack and an edge cursor per
+ *     frame, so it handles paths of any length. Components are numbered in topological order of the condensation:
+ *     every edge between two components goes from a lower to a higher id.</li>
+ *     <li><b>parallel:</b> Forward-Backward with trimming (Fleischer, Hendrickson, Pınar; McLendon et al.). Trim peels
+ *     vertices with no in- or out-edge inside their subproblem (each is its own SCC). Then the vertices both reachable
+ *     from a random pivot and reaching it form the pivot's SCC, and the three remaining parts (forward only,
+ *     backward only, neither) cannot share an SCC, so they are solved as independent ForkJoin tasks. Small or deep
+ *     subproblems fall back to Tarjan. Component ids are in no particular order.</li>
+ * </ul>
+ *
+ * Complexity:
+ * <ul>
+ *     <li>tarjan: O(V + E) time, O(V) space</li>
+ *     <li>parallel: O(V + E) per recursion level, expected O(log V) levels with random pivots</li>
+ *     <li>condensation: O(V + E)</li>
+ * </ul>
+ *
+ * Applications:
+ * <ul>
+ *     <li>Topological order of a dependency graph that contains cycles (order the condensation)</li>
+ *     <li>2-SAT</li>
+ *     <li>Finding groups of mutually dependent tasks or modules</li>
+ * </ul>
+ * LeetCode problems:
+ * <ul>
+ *     <li><a href="https://leetcode.com/problems/critical-connections-in-a-network/">1192. Critical Connections in a Network</a></li>
+ *     <li><a href="https://leetcode.com/problems/course-schedule/">207. Course Schedule</a></li>
+ * </ul>
+ */
+public class StronglyConnectedComponents {
+    private static final int SEQUENTIAL = 1 << 13;
+    private static final int MAX_DEPTH = 64;
+    private static final int DONE = -1;
+
+    /***
+     * component[v] = id of the SCC of v, in 0..count-1
+     */
+    public static final class Result {
+        public final int[] component;
+        public final int count;
+
+        Result(int[] component, int count) {
+            this.component = component;
+            this.count = count;
+        }
+
+        /***
+         * Number of vertices in every component
+         */
+        public int[] sizes() {
+            int[] sizes = new int[count];
+            for (int c : component) sizes[c]++;
+            return sizes;
+        }
+    }
+
+    public static Result tarjan(CSRGraph graph) {
+        int n = graph.vertexCount();
+        int[] index = new int[n];
+        int[] low = new int[n];
+        int[] component = new int[n];
+        Arrays.fill(index, -1);
+        int[] all = new int[n];
+        for (int v = 0; v < n; v++) all[v] = v;
+
+        AtomicInteger ids = new AtomicInteger();
+        tarjan(graph, all, null, 0, index, low, new boolean[n], component, ids);
+
+        // Tarjan finishes sinks first; flip so edges go from lower to higher ids
+        int count = ids.get();
+        for (int v = 0; v < n; v++) component[v] = count - 1 - component[v];
+        return new Result(component, count);
+    }
+
+    /***
+     * Parallel SCCs on the common ForkJoinPool
+     * @param graph   directed graph
+     * @param reverse graph.transpose()
+     */
+    public static Result parallel(CSRGraph graph, CSRGraph reverse) {
+        int n = graph.vertexCount();
+        int[] color = new int[n];
+        int[] component = new int[n];
+        int[] index = new int[n];
+        Arrays.fill(index, -1);
+        int[] all = new int[n];
+        for (int v = 0; v < n; v++) all[v] = v;
+
+        Shared shared = new Shared(graph, reverse, color, component, index, new int[n], new boolean[n], new int[n], new int[n]);
+        ForkJoinPool.commonPool().invoke(new ForwardBackward(shared, all, 0, 0));
+        return new Result(component, shared.ids.get());
+    }
+
+    /***
+     * Collapses every SCC into one vertex. Vertex c of the result is component c, with one edge c→d for every pair of
+     * components joined by at least one edge (no self-loops, no duplicates, unweighted).
+     */
+    public static CSRGraph condensation(CSRGraph graph, Result scc) {
+        int n = graph.vertexCount(), k = scc.count;
+        int[] component = scc.component;
+
+        // members of every component, grouped by a counting sort
+        int[] start = new int[k + 1];
+        for (int v = 0; v < n; v++) start[component[v] + 1]++;
+        for (int c = 0; c < k; c++) start[c + 1] += start[c];
+        int[] cursor = Arrays.copyOf(start, k);
+        int[] members = new int[n];
+        for (int v = 0; v < n; v++) members[cursor[component[v]]++] = v;
+
+        int[] offsets = new int[k + 1];
+        int[] targets = new int[16];
+        int size = 0;
+        int[] stamp = new int[k];
+        Arrays.fill(stamp, -1);
+        for (int c = 0; c < k; c++) {
+            offsets[c] = size;
+            for (int i = start[c]; i < start[c + 1]; i++) {
+                int u = members[i];
+                for (int e = graph.offsets[u]; e < graph.offsets[u + 1]; e++) {
+                    int d = component[graph.targets[e]];
+                    if (d == c || stamp[d] == c) continue;
+                    stamp[d] = c;
+                    if (size == targets.length) targets = Arrays.copyOf(targets, size * 2);
+                    targets[size++] = d;
+                }
+            }
+        }
+        offsets[k] = size;
+        return new CSRGraph(offsets, Arrays.copyOf(targets, size), null, null);
+    }
+
+    /***
+     * Iterative Tarjan over the given vertices. With color != null, only edges into vertices of color c are followed.
+     * index[] must be -1 for all of them; low[], onStack[] and component[] are indexed by vertex, so disjoint vertex
+     * sets can run concurrently on the same arrays.
+     */
+    private static void tarjan(CSRGraph graph, int[] vertices, int[] color, int c, int[] index, int[] low,
+                               boolean[] onStack, int[] component, AtomicInteger ids) {
+        int[] offsets = graph.offsets, targets = graph.targets;
+        int count = vertices.length;
+        int[] call = new int[count];
+        int[] cursor = new int[count];
+        int[] stack = new int[count];
+        int time = 0, sp = 0;
+
+        for (int s : vertices) {
+            if (index[s] != -1) continue;
+            int top = 0;
+            index[s] = low[s] = time++;
+            stack[sp++] = s;
+            onStack[s] = true;
+            call[top] = s;
+            cursor[top++] = offsets[s];
+
+            while (top > 0) {
+                int u = call[top - 1];
+                int e = cursor[top - 1];
+                if (e < offsets[u + 1]) {
+                    cursor[top - 1] = e + 1;
+                    int v = targets[e];
+                    if (color != null && color[v] != c) continue;
+                    if (index[v] == -1) {
+                        index[v] = low[v] = time++;
+                        stack[sp++] = v;
+                        onStack[v] = true;
+                        call[top] = v;
+                        cursor[top++] = offsets[v];
+                    } else if (onStack[v]) {
+                        low[u] = Math.min(low[u], index[v]);
+                    }
+                } else {
+                    top--;
+                    if (top > 0) {
+                        int p = call[top - 1];
+                        low[p] = Math.min(low[p], low[u]);
+                    }
+                    if (low[u] == index[u]) {
+                        int id = ids.getAndIncrement();
+                        int w;
+                        do {
+                            w = stack[--sp];
+                            onStack[w] = false;
+                            component[w] = id;
+                        } while (w != u);
+                    }
+                }
+            }
+        }
+    }
+
+    /***
+     * Arrays shared by all Forward-Backward tasks; every task only writes the entries of its own vertices
+     */
+    private static final class Shared {
+        final CSRGraph graph, reverse;
+        final int[] color, component, index, low;
+        final boolean[] onStack;
+        final int[] inDegree, outDegree;
+        final AtomicInteger ids = new AtomicInteger();
+        final AtomicInteger colors = new AtomicInteger(1);
+
+        Shared(CSRGraph graph, CSRGraph reverse, int[] color, int[] component, int[] index, int[] low,
+               boolean[] onStack, int[] inDegree, int[] outDegree) {
+            this.graph = graph;
+            this.reverse = reverse;
+            this.color = color;
+            this.component = component;
+            this.index = index;
+            this.low = low;
+            this.onStack = onStack;
+            this.inDegree = inDegree;
+            this.outDegree = outDegree;
+        }
+    }
+
+    /***
+     * Solves the subproblem made of the given vertices, which all have color c
+     */
+    private static final class ForwardBackward extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Shared s;
+        private final int[] vertices;
+        private final int c;
+        private final int depth;
+
+        ForwardBackward(Shared s, int[] vertices, int c, int depth) {
+            this.s = s;
+            this.vertices = vertices;
+            this.c = c;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            int[] rest = trim();
+            if (rest.length == 0) return;
+            if (rest.length <= SEQUENTIAL || depth >= MAX_DEPTH) {
+                tarjan(s.graph, rest, s.color, c, s.index, s.low, s.onStack, s.component, s.ids);
+                return;
+            }
+
+            int pivot = rest[(int) (mix(depth * 31L + rest.length) % rest.length)];
+            int forward = s.colors.getAndIncrement();
+            int backward = s.colors.getAndIncrement();
+
+            // forward reachability from the pivot inside this subproblem
+            int[] queue = new int[rest.length];
+            int head = 0, tail = 0;
+            s.color[pivot] = forward;
+            queue[tail++] = pivot;
+            while (head < tail) {
+                int u = queue[head++];
+                for (int e = s.graph.offsets[u]; e < s.graph.offsets[u + 1]; e++) {
+                    int v = s.graph.targets[e];
+                    if (s.color[v] == c) {
+                        s.color[v] = forward;
+                        queue[tail++] = v;
+                    }
+                }
+            }
+
+            // backward reachability: forward ∩ backward is the pivot's SCC
+            int id = s.ids.getAndIncrement();
+            head = tail = 0;
+            s.color[pivot] = DONE;
+            s.component[pivot] = id;
+            queue[tail++] = pivot;
+            while (head < tail) {
+                int u = queue[head++];
+                for (int e = s.reverse.offsets[u]; e < s.reverse.offsets[u + 1]; e++) {
+                    int v = s.reverse.targets[e];
+                    if (s.color[v] == forward) {
+                        s.color[v] = DONE;
+                        s.component[v] = id;
+                        queue[tail++] = v;
+                    } else if (s.color[v] == c) {
+                        s.color[v] = backward;
+                        queue[tail++] = v;
+                    }
+                }
+            }
+
+            int[] f = select(rest, forward), b = select(rest, backward), r = select(rest, c);
+            List<ForwardBackward> tasks = new ArrayList<>(3);
+            if (f.length > 0) tasks.add(new ForwardBackward(s, f, forward, depth + 1));
+            if (b.length > 0) tasks.add(new ForwardBackward(s, b, backward, depth + 1));
+            if (r.length > 0) tasks.add(new ForwardBackward(s, r, c, depth + 1));
+            invokeAll(tasks);
+        }
+
+        /***
+         * Repeatedly removes vertices without in- or out-edges inside the subproblem; each one is a singleton SCC
+         * @return the vertices that are left
+         */
+        private int[] trim() {
+            int[] color = s.color;
+            IntStream all = IntStream.of(vertices);
+            if (vertices.length > SEQUENTIAL) all = all.parallel();
+            all.forEach(v -> {
+                s.outDegree[v] = countSameColor(s.graph, v);
+                s.inDegree[v] = countSameColor(s.reverse, v);
+            });
+
+            int[] queue = new int[vertices.length];
+            int head = 0, tail = 0;
+            for (int v : vertices) {
+                if (s.inDegree[v] == 0 || s.outDegree[v] == 0) {
+                    color[v] = DONE;
+                    queue[tail++] = v;
+                }
+            }
+            while (head < tail) {
+                int u = queue[head++];
+                s.component[u] = s.ids.getAndIncrement();
+                for (int e = s.graph.offsets[u]; e < s.graph.offsets[u + 1]; e++) {
+                    int v = s.graph.targets[e];
+                    if (color[v] == c && --s.inDegree[v] == 0) {
+                        color[v] = DONE;
+                        queue[tail++] = v;
+                    }
+                }
+                for (int e = s.reverse.offsets[u]; e < s.reverse.offsets[u + 1]; e++) {
+                    int v = s.reverse.targets[e];
+                    if (color[v] == c && --s.outDegree[v] == 0) {
+                        color[v] = DONE;
+                        queue[tail++] = v;
+                    }
+                }
+            }
+            return tail == 0 ? vertices : select(vertices, c);
+        }
+
+        private int countSameColor(CSRGraph g, int v) {
+            int count = 0;
+            for (int e = g.offsets[v]; e < g.offsets[v + 1]; e++) {
+                if (s.color[g.targets[e]] == c) count++;
+            }
+            return count;
+        }
+
+        private int[] select(int[] from, int wanted) {
+            int count = 0;
+            for (int v : from) if (s.color[v] == wanted) count++;
+            int[] out = new int[count];
+            count = 0;
+            for (int v : from) if (s.color[v] == wanted) out[count++] = v;
+            return out;
+        }
+    }
+
+    private static long mix(long x) {
+        x = (x ^ (x >>> 33)) * 0xff51afd7ed558ccdL;
+        x = (x ^ (x >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return (x ^ (x >>> 33)) & Long.MAX_VALUE;
+    }
+}
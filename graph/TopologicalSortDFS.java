@@ -2,81 +2,60 @@ package graph;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Stack;
 
 public class TopologicalSortDFS {
     /***
-     * Returns a topological ordering of nodes in a DAG
+     * Returns a topological ordering of nodes in a DAG: the reverse of the DFS post-order.
+     * Runs on {@link DepthFirstSearch}, so deep dependency chains do not overflow the stack.
      * @param graph adjacency list: graph.get(u) contains nodes u points to
-     * @param n number of vertices (0 to n-1)
+     * @param n number of vertices (0 to n-1), must be graph.size()
      * @return list of vertices in topological order; empty list if graph contains a cycle
+     * @throws IllegalArgumentException if n is not graph.size()
      */
     public static List<Integer> findPathRecursive(List<List<Integer>> graph, int n) {
-        boolean[] visited = new boolean[n];
-        Stack<Integer> stack = new Stack<>();
-
-        for(int i = 0 ; i < n ; i++) {
-            if(!visited[i]) {
-                dfs(i, graph, visited, stack);
-            }
-        }
-
-        List<Integer> result = new ArrayList<>();
-        while(!stack.isEmpty()) {
-            result.add(stack.pop());
-        }
+        if (n != graph.size()) throw new IllegalArgumentException("n = " + n + " but the graph has " + graph.size() + " vertices");
+        int[] order = reversePostOrder(DepthFirstSearch.of(graph));
+        List<Integer> result = new ArrayList<>(n);
+        if (order == null) return result;
+        for (int v : order) result.add(v);
         return result;
     }
 
-    private static void dfs(int node, List<List<Integer>> graph, boolean[] visited, Stack<Integer> st) {
-        visited[node] = true;
-        for(int nei : graph.get(node)) {
-            if(!visited[nei])
-                dfs(nei, graph, visited, st);
-        }
-        st.push(node);
-    }
-
+    /***
+     * Same ordering as {@link #findPathRecursive(List, int)}
+     */
     public static List<Integer> topoSortIterative(int n, List<List<Integer>> adj) {
-        boolean[] visited = new boolean[n];
-        Stack<Integer> stack = new Stack<>();
-        List<Integer> result = new ArrayList<>();
-
-        for (int i = 0; i < n; i++) {
-            if (!visited[i]) {
-                iterativeDFS(i, adj, visited, stack);
-            }
-        }
-
-        while (!stack.isEmpty()) {
-            result.add(stack.pop());
-        }
-        return result;
+        return findPathRecursive(adj, n);
     }
 
-    private static void iterativeDFS(int start, List<List<Integer>> adj, boolean[] visited, Stack<Integer> stack) {
-        Stack<Integer> callStack = new Stack<>();
-        Stack<Integer> postOrder = new Stack<>();
-
-        callStack.push(start);
-
-        while (!callStack.isEmpty()) {
-            int node = callStack.pop();
-            if (visited[node]) continue;
-
-            visited[node] = true;
-            postOrder.push(node);
+    /***
+     * Topological order of a CSR graph, empty array if the graph contains a cycle
+     */
+    public static int[] findPath(CSRGraph graph) {
+        int[] order = reversePostOrder(DepthFirstSearch.of(graph));
+        return order == null ? new int[0] : order;
+    }
 
-            for (int nei : adj.get(node)) {
-                if (!visited[nei]) {
-                    callStack.push(nei);
-                }
+    /***
+     * Reverse post-order of a DFS forest over all vertices, or null if a back edge (cycle) was found
+     */
+    private static int[] reversePostOrder(DepthFirstSearch.Adjacency graph) {
+        int n = graph.vertexCount();
+        int[] order = new int[n];
+        boolean[] cyclic = new boolean[1];
+        new DepthFirstSearch(graph).runAll(new DepthFirstSearch.Visitor() {
+            int next = n;
+
+            @Override
+            public void postOrder(int v) {
+                order[--next] = v;
             }
-        }
 
-        // reverse post-order to mimic recursion "push after children"
-        while (!postOrder.isEmpty()) {
-            stack.push(postOrder.pop());
-        }
+            @Override
+            public void edge(int u, int v, DepthFirstSearch.EdgeType type) {
+                if (type == DepthFirstSearch.EdgeType.BACK) cyclic[0] = true;
+            }
+        });
+        return cyclic[0] ? null : order;
     }
 }
@@ -27,6 +27,10 @@ import java.util.*;
  *     <li>If not all nodes are processed, the graph has a cycle</li>
  * </ul>
  *
+ * For a parallel version that groups the order into levels that can run concurrently, and reports a cycle
+ * instead of an empty result, see {@link ParallelTopologicalSort}. To order a graph that has cycles, sort the
+ * condensation built by {@link StronglyConnectedComponents#condensation(CSRGraph, StronglyConnectedComponents.Result)}.
+ *
  * Complexity:
  * <ul>
  *     <li>Time: O(V + E), where V = number of vertices, E = number of edges</li>
@@ -102,4 +106,60 @@ public class TopologicalSortingKahnsAlgorithm {
 
         return ans;
     }
+
+    /***
+     * Returns a topological ordering of nodes in a DAG stored in CSR form.
+     * The result array is also used as the queue (head/tail indices), so nothing is boxed.
+     * @param graph directed CSR graph
+     * @return vertices in topological order; empty array if graph contains a cycle
+     */
+    public static int[] findPath(CSRGraph graph) {
+        int n = graph.vertexCount();
+        int[] offsets = graph.offsets, targets = graph.targets;
+        int[] inDegree = new int[n];
+        int[] order = new int[n];
+
+        for (int v : targets) inDegree[v]++;
+
+        int head = 0, tail = 0;
+        for (int i = 0; i < n; i++) {
+            if (inDegree[i] == 0) order[tail++] = i;
+        }
+
+        while (head < tail) {
+            int u = order[head++];
+            for (int e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+                if (--inDegree[targets[e]] == 0) order[tail++] = targets[e];
+            }
+        }
+
+        return tail == n ? order : new int[0]; // empty array indicates cycle
+    }
+
+    /***
+     * Same ordering as {@link #findPath(CSRGraph)}, reading the edges straight from a memory-mapped graph file
+     * @return vertices in topological order; empty array if graph contains a cycle
+     */
+    public static int[] findPath(MappedGraph graph) {
+        int n = graph.vertexCount();
+        int[] inDegree = new int[n];
+        int[] order = new int[n];
+
+        for (long e = 0, m = graph.edgeCount(); e < m; e++) inDegree[graph.target(e)]++;
+
+        int head = 0, tail = 0;
+        for (int i = 0; i < n; i++) {
+            if (inDegree[i] == 0) order[tail++] = i;
+        }
+
+        while (head < tail) {
+            int u = order[head++];
+            for (long e = graph.offset(u), end = graph.offset(u + 1); e < end; e++) {
+                int v = graph.target(e);
+                if (--inDegree[v] == 0) order[tail++] = v;
+            }
+        }
+
+        return tail == n ? order : new int[0]; // empty array indicates cycle
+    }
 }
@@ -0,0 +1,74 @@
+package bench;
+
+import graph.CSRGraph;
+import graph.ContractionHierarchy;
+import graph.ShortestPathQuery;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/***
+ * Contraction hierarchy preprocessing and point-to-point queries against bidirectional Dijkstra.
+ * <br>
+ * Runs on a grid (road-like) graph of its own: random graphs contract into a dense core and the preprocessing
+ * degrades towards quadratic time.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContractionHierarchyBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({"250000"})
+        public int n;
+
+        @Param({"42"})
+        public long seed;
+
+        int vertexCount;
+        CSRGraph graph;
+        ContractionHierarchy.Query chQuery;
+        ShortestPathQuery dijkstraQuery;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            vertexCount = GraphGenerators.vertexCount(GraphGenerators.Kind.GRID, n);
+            graph = CSRGraph.fromEdgeList(vertexCount, GraphGenerators.grid(n, 1000, seed), true);
+            chQuery = new ContractionHierarchy.Query(ContractionHierarchy.build(graph));
+            dijkstraQuery = new ShortestPathQuery(graph, graph.transpose());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Pairs {
+        SplittableRandom random = new SplittableRandom(7);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public Object build(Input input) {
+        return ContractionHierarchy.build(input.graph);
+    }
+
+    @Benchmark
+    public long chDistance(Input input, Pairs pairs) {
+        return input.chQuery.distance(pairs.random.nextInt(input.vertexCount), pairs.random.nextInt(input.vertexCount));
+    }
+
+    @Benchmark
+    public Object chPath(Input input, Pairs pairs) {
+        return input.chQuery.path(pairs.random.nextInt(input.vertexCount), pairs.random.nextInt(input.vertexCount));
+    }
+
+    @Benchmark
+    public Object bidirectionalDijkstraPath(Input input, Pairs pairs) {
+        return input.dijkstraQuery.dijkstra(pairs.random.nextInt(input.vertexCount), pairs.random.nextInt(input.vertexCount));
+    }
+}
@@ -0,0 +1,155 @@
+package bench;
+
+import graph.EdgeList;
+import tree.TreeNode;
+
+import java.util.*;
+
+/***
+ * Seeded synthetic inputs for the benchmarks. All graphs are produced as a weighted {@link EdgeList} so that
+ * tens of millions of edges fit in memory; benchmarks convert them to the shape each algorithm takes.
+ * <ul>
+ *     <li><b>random:</b> Erdős–Rényi style, m edges with uniform endpoints</li>
+ *     <li><b>grid:</b> 2D lattice, every cell joined to its right and lower neighbour (high diameter, road-like)</li>
+ *     <li><b>powerlaw:</b> R-MAT with Graph500 parameters (0.57, 0.19, 0.19, 0.05): skewed degrees, low diameter</li>
+ *     <li><b>dag:</b> random edges oriented from the lower to the higher vertex id</li>
+ * </ul>
+ */
+public final class GraphGenerators {
+
+    public enum Kind { RANDOM, GRID, POWERLAW, DAG }
+
+    /***
+     * @param kind      graph family
+     * @param n         requested number of vertices (grid rounds down to a square, powerlaw up to a power of two)
+     * @param avgDegree edges per vertex (ignored by grid)
+     * @param maxWeight weights are uniform in [1, maxWeight]
+     * @param seed      random seed
+     */
+    public static EdgeList generate(Kind kind, int n, int avgDegree, int maxWeight, long seed) {
+        switch (kind) {
+            case GRID: return grid(n, maxWeight, seed);
+            case POWERLAW: return rmat(n, avgDegree, maxWeight, seed);
+            case DAG: return dag(n, avgDegree, maxWeight, seed);
+            default: return random(n, avgDegree, maxWeight, seed);
+        }
+    }
+
+    /***
+     * Number of vertices the generator actually uses for a requested n
+     */
+    public static int vertexCount(Kind kind, int n) {
+        switch (kind) {
+            case GRID: {
+                int side = (int) Math.sqrt(n);
+                return side * side;
+            }
+            case POWERLAW: return Integer.highestOneBit(Math.max(1, n - 1)) << 1;
+            default: return n;
+        }
+    }
+
+    public static EdgeList random(int n, int avgDegree, int maxWeight, long seed) {
+        SplittableRandom r = new SplittableRandom(seed);
+        int m = (int) Math.min(Integer.MAX_VALUE - 8, (long) n * avgDegree);
+        EdgeList edges = new EdgeList(m, true);
+        for (int i = 0; i < m; i++) edges.add(r.nextInt(n), r.nextInt(n), 1 + r.nextInt(maxWeight));
+        return edges;
+    }
+
+    public static EdgeList grid(int n, int maxWeight, long seed) {
+        SplittableRandom r = new SplittableRandom(seed);
+        int side = (int) Math.sqrt(n);
+        EdgeList edges = new EdgeList(2 * side * side, true);
+        for (int row = 0; row < side; row++) {
+            for (int col = 0; col < side; col++) {
+                int v = row * side + col;
+                if (col + 1 < side) edges.add(v, v + 1, 1 + r.nextInt(maxWeight));
+                if (row + 1 < side) edges.add(v, v + side, 1 + r.nextInt(maxWeight));
+            }
+        }
+        return edges;
+    }
+
+    public static EdgeList rmat(int n, int avgDegree, int maxWeight, long seed) {
+        SplittableRandom r = new SplittableRandom(seed);
+        int vertices = vertexCount(Kind.POWERLAW, n);
+        int scale = Integer.numberOfTrailingZeros(vertices);
+        int m = (int) Math.min(Integer.MAX_VALUE - 8, (long) vertices * avgDegree);
+        EdgeList edges = new EdgeList(m, true);
+        for (int i = 0; i < m; i++) {
+            int u = 0, v = 0;
+            for (int bit = 0; bit < scale; bit++) {
+                double p = r.nextDouble();
+                if (p < 0.57) continue;                      // a: top-left
+                if (p < 0.76) v |= 1 << bit;                  // b: top-right
+                else if (p < 0.95) u |= 1 << bit;             // c: bottom-left
+                else { u |= 1 << bit; v |= 1 << bit; }        // d: bottom-right
+            }
+            edges.add(u, v, 1 + r.nextInt(maxWeight));
+        }
+        return edges;
+    }
+
+    public static EdgeList dag(int n, int avgDegree, int maxWeight, long seed) {
+        SplittableRandom r = new SplittableRandom(seed);
+        int m = (int) Math.min(Integer.MAX_VALUE - 8, (long) n * avgDegree);
+        EdgeList edges = new EdgeList(m, true);
+        for (int i = 0; i < m; i++) {
+            int u = r.nextInt(n), v = r.nextInt(n);
+            if (u == v) continue;
+            edges.add(Math.min(u, v), Math.max(u, v), 1 + r.nextInt(maxWeight));
+        }
+        return edges;
+    }
+
+    /***
+     * Orients every edge from the lower to the higher id, which makes any edge list acyclic
+     */
+    public static EdgeList toDag(EdgeList edges) {
+        EdgeList dag = new EdgeList(edges.size(), edges.isWeighted());
+        for (int i = 0; i < edges.size(); i++) {
+            int u = edges.from[i], v = edges.to[i];
+            if (u == v) continue;
+            if (edges.isWeighted()) dag.add(Math.min(u, v), Math.max(u, v), edges.weights[i]);
+            else dag.add(Math.min(u, v), Math.max(u, v));
+        }
+        return dag;
+    }
+
+    /***
+     * Binary search tree built by inserting n distinct random keys (expected depth O(log n)), built iteratively
+     */
+    public static TreeNode randomBst(int n, long seed) {
+        SplittableRandom r = new SplittableRandom(seed);
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++) keys[i] = i;
+        for (int i = n - 1; i > 0; i--) {
+            int j = r.nextInt(i + 1);
+            int t = keys[i];
+            keys[i] = keys[j];
+            keys[j] = t;
+        }
+
+        TreeNode root = null;
+        for (int key : keys) {
+            TreeNode node = new TreeNode();
+            node.val = key;
+            if (root == null) {
+                root = node;
+                continue;
+            }
+            TreeNode cur = root;
+            while (true) {
+                if (key < cur.val) {
+                    if (cur.left == null) { cur.left = node; break; }
+                    cur = cur.left;
+                } else {
+                    if (cur.right == null) { cur.right = node; break; }
+                    cur = cur.right;
+                }
+            }
+        }
+        return root;
+    }
+}
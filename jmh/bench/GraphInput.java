@@ -0,0 +1,47 @@
+package bench;
+
+import graph.CSRGraph;
+import graph.EdgeList;
+import org.openjdk.jmh.annotations.*;
+
+/***
+ * Generated graph shared by the graph benchmarks, built once per trial (outside the measurement).
+ * <br>
+ * Every benchmark runs for every graph kind; narrow it with {@code -p kind=GRID}. Sizes are set with
+ * {@code -p n=... -p degree=...}: n=4000000 with degree=8 gives 32M edges (give the fork a large heap with
+ * {@code -jvmArgsAppend -Xmx16g}).
+ */
+@State(Scope.Benchmark)
+public class GraphInput {
+    @Param({"RANDOM", "GRID", "POWERLAW", "DAG"})
+    public GraphGenerators.Kind kind;
+
+    /***
+     * Requested number of vertices (grid rounds down to a square, powerlaw up to a power of two)
+     */
+    @Param({"100000"})
+    public int n;
+
+    @Param({"8"})
+    public int degree;
+
+    @Param({"1000"})
+    public int maxWeight;
+
+    @Param({"42"})
+    public long seed;
+
+    public int vertexCount;
+    public EdgeList edges, dagEdges;
+    public CSRGraph directed, undirected, dag;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        vertexCount = GraphGenerators.vertexCount(kind, n);
+        edges = GraphGenerators.generate(kind, n, degree, maxWeight, seed);
+        dagEdges = kind == GraphGenerators.Kind.DAG ? edges : GraphGenerators.toDag(edges);
+        directed = CSRGraph.fromEdgeList(vertexCount, edges, true);
+        undirected = CSRGraph.fromEdgeList(vertexCount, edges, false);
+        dag = CSRGraph.fromEdgeList(vertexCount, dagEdges, true);
+    }
+}
@@ -0,0 +1,44 @@
+package bench;
+
+import graph.BellmanFord;
+import graph.KruskalMST;
+import graph.PrimMST;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+
+/***
+ * Boxed adjacency-list and edge-object forms of a {@link GraphInput}, for the original List-based methods.
+ * Kept apart so that benchmarks on the primitive forms do not pay for them.
+ */
+@State(Scope.Benchmark)
+public class ListInput {
+    public List<List<Integer>> undirected, dag;
+    public List<BellmanFord.Edge> bellmanFordEdges;
+    public List<KruskalMST.Edge> kruskalEdges;
+    public List<List<PrimMST.Edge>> primGraph;
+
+    @Setup(Level.Trial)
+    public void setUp(GraphInput graph) {
+        undirected = graph.undirected.toAdjacencyList();
+        dag = graph.dag.toAdjacencyList();
+
+        int m = graph.edges.size();
+        bellmanFordEdges = new ArrayList<>(m);
+        kruskalEdges = new ArrayList<>(m);
+        for (int i = 0; i < m; i++) {
+            bellmanFordEdges.add(new BellmanFord.Edge(graph.edges.from[i], graph.edges.to[i], graph.edges.weights[i]));
+            kruskalEdges.add(new KruskalMST.Edge(graph.edges.from[i], graph.edges.to[i], graph.edges.weights[i]));
+        }
+
+        int n = graph.vertexCount;
+        primGraph = new ArrayList<>(n);
+        for (int u = 0; u < n; u++) {
+            List<PrimMST.Edge> out = new ArrayList<>(graph.undirected.degree(u));
+            for (int e = graph.undirected.offsets[u]; e < graph.undirected.offsets[u + 1]; e++) {
+                out.add(new PrimMST.Edge(graph.undirected.targets[e], (int) graph.undirected.weight(e)));
+            }
+            primGraph.add(out);
+        }
+    }
+}
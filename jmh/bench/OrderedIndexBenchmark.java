@@ -0,0 +1,98 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import tree.IntAvlMap;
+import tree.IntBPlusTree;
+import tree.TreeTraversal;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/***
+ * Ordered int maps: {@code TreeMap<Integer, Integer>} against {@link IntAvlMap} and {@link IntBPlusTree}, on n
+ * random keys.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderedIndexBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({"1000000"})
+        public int n;
+
+        @Param({"42"})
+        public long seed;
+
+        int[] keys;
+        TreeMap<Integer, Integer> treeMap = new TreeMap<>();
+        IntAvlMap avl;
+        IntBPlusTree bPlus = new IntBPlusTree();
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            keys = new SplittableRandom(seed).ints(n).toArray();
+            avl = new IntAvlMap(n);
+            for (int key : keys) {
+                treeMap.put(key, key);
+                avl.put(key, key);
+                bPlus.put(key, key);
+            }
+        }
+    }
+
+    @Benchmark
+    public Object putTreeMap(Input input) {
+        TreeMap<Integer, Integer> map = new TreeMap<>();
+        for (int key : input.keys) map.put(key, key);
+        return map;
+    }
+
+    @Benchmark
+    public Object putIntAvlMap(Input input) {
+        IntAvlMap map = new IntAvlMap(input.n);
+        for (int key : input.keys) map.put(key, key);
+        return map;
+    }
+
+    @Benchmark
+    public Object putIntBPlusTree(Input input) {
+        IntBPlusTree map = new IntBPlusTree();
+        for (int key : input.keys) map.put(key, key);
+        return map;
+    }
+
+    @Benchmark
+    public void getTreeMap(Input input, Blackhole bh) {
+        for (int key : input.keys) bh.consume(input.treeMap.get(key));
+    }
+
+    @Benchmark
+    public void getIntAvlMap(Input input, Blackhole bh) {
+        for (int key : input.keys) bh.consume(input.avl.get(key, 0));
+    }
+
+    @Benchmark
+    public void getIntBPlusTree(Input input, Blackhole bh) {
+        for (int key : input.keys) bh.consume(input.bPlus.get(key, 0));
+    }
+
+    @Benchmark
+    public long scanTreeMap(Input input) {
+        return input.treeMap.keySet().stream().mapToLong(Integer::longValue).sum();
+    }
+
+    @Benchmark
+    public long scanIntAvlMap(Input input) {
+        return TreeTraversal.stream(input.avl.keys()).asLongStream().sum();
+    }
+
+    @Benchmark
+    public long scanIntBPlusTree(Input input) {
+        return TreeTraversal.stream(input.bPlus.keys()).asLongStream().sum();
+    }
+}
@@ -0,0 +1,144 @@
+package bench;
+
+import graph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/***
+ * Single-source and all-pairs shortest paths.
+ * <br>
+ * The O(V²)-memory algorithms (matrix Dijkstra, Floyd–Warshall) run on the subgraph induced by the first
+ * {@code denseLimit} vertices.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xss512m")
+public class ShortestPathBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class DenseInput {
+        @Param({"1024"})
+        public int denseLimit;
+
+        int[][] adjacency;    // -1 for no edge, as Dijkstra.findMinPath(int[][], int) expects
+        int[][] distances;    // Integer.MAX_VALUE for no edge, 0 on the diagonal
+
+        @Setup(Level.Trial)
+        public void setUp(GraphInput graph) {
+            int k = Math.min(graph.vertexCount, denseLimit);
+            adjacency = new int[k][k];
+            distances = new int[k][k];
+            for (int i = 0; i < k; i++) {
+                Arrays.fill(adjacency[i], -1);
+                Arrays.fill(distances[i], Integer.MAX_VALUE);
+                distances[i][i] = 0;
+            }
+            CSRGraph g = graph.directed;
+            for (int u = 0; u < k; u++) {
+                for (int e = g.offsets[u]; e < g.offsets[u + 1]; e++) {
+                    int v = g.targets[e], w = (int) g.weight(e);
+                    if (v >= k) continue;
+                    if (adjacency[u][v] < 0 || w < adjacency[u][v]) adjacency[u][v] = w;
+                    if (u != v && w < distances[u][v]) distances[u][v] = w;
+                }
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class MappedInput {
+        Path file;
+        MappedGraph mapped;
+
+        @Setup(Level.Trial)
+        public void setUp(GraphInput graph) throws IOException {
+            file = Files.createTempFile("bench", ".csr");
+            MappedGraph.write(file, graph.directed);
+            mapped = MappedGraph.open(file);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            mapped = null;
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class CacheInput {
+        ShortestPathCache cache;
+        SplittableRandom random;
+
+        @Setup(Level.Trial)
+        public void setUp(GraphInput graph) {
+            cache = new ShortestPathCache(Runtime.getRuntime().maxMemory() / 4);
+            random = new SplittableRandom(graph.seed);
+        }
+    }
+
+    @Benchmark
+    public Object dijkstraMatrix(DenseInput dense) {
+        return new Dijkstra().findMinPath(dense.adjacency, 0);
+    }
+
+    @Benchmark
+    public Object dijkstraCsr(GraphInput graph) {
+        return new Dijkstra().findMinPath(graph.directed, 0);
+    }
+
+    @Benchmark
+    public Object dijkstraDaryHeap(GraphInput graph) {
+        return Dijkstra.shortestPaths(graph.directed, 0, -1, Dijkstra.HeapType.DARY);
+    }
+
+    @Benchmark
+    public Object dijkstraRadixHeap(GraphInput graph) {
+        return Dijkstra.shortestPaths(graph.directed, 0, -1, Dijkstra.HeapType.RADIX);
+    }
+
+    @Benchmark
+    public Object dijkstraMapped(MappedInput input) {
+        return Dijkstra.shortestPaths(input.mapped, 0);
+    }
+
+    /***
+     * Sources drawn from 16 hot vertices: after warmup almost every call is a cache hit
+     */
+    @Benchmark
+    public Object shortestPathCacheHotSources(GraphInput graph, CacheInput input) {
+        int source = input.random.nextInt(Math.min(graph.vertexCount, 16));
+        return input.cache.get(1, source, s -> Dijkstra.shortestPaths(graph.directed, s));
+    }
+
+    @Benchmark
+    public Object bellmanFordList(GraphInput graph, ListInput lists) {
+        return BellmanFord.bellmanFord(graph.vertexCount, lists.bellmanFordEdges, 0);
+    }
+
+    @Benchmark
+    public Object bellmanFordSpfa(GraphInput graph) {
+        return BellmanFord.spfa(graph.directed, 0);
+    }
+
+    @Benchmark
+    public Object bellmanFordParallel(GraphInput graph) {
+        return BellmanFord.parallelBellmanFord(graph.vertexCount, graph.edges, 0);
+    }
+
+    @Benchmark
+    public Object floydWarshall(DenseInput dense) {
+        return FloydWarshall.floydWarshall(dense.distances);
+    }
+
+    @Benchmark
+    public Object floydWarshallBlocked(DenseInput dense) {
+        return FloydWarshall.floydWarshallBlocked(dense.distances);
+    }
+}
@@ -0,0 +1,83 @@
+package bench;
+
+import graph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/***
+ * Minimum spanning trees, connected components and union-find.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpanningTreeBenchmark {
+
+    @Benchmark
+    public int kruskalList(GraphInput graph, ListInput lists) {
+        // kruskal sorts its argument
+        return KruskalMST.kruskal(new ArrayList<>(lists.kruskalEdges), graph.vertexCount);
+    }
+
+    @Benchmark
+    public Object kruskalEdgeList(GraphInput graph) {
+        return KruskalMST.kruskal(graph.vertexCount, graph.edges);
+    }
+
+    @Benchmark
+    public Object filterKruskal(GraphInput graph) {
+        return KruskalMST.filterKruskal(graph.vertexCount, graph.edges);
+    }
+
+    @Benchmark
+    public Object boruvka(GraphInput graph) {
+        return KruskalMST.boruvka(graph.vertexCount, graph.edges);
+    }
+
+    @Benchmark
+    public int primList(ListInput lists) {
+        return PrimMST.primForDisconnectedGraph(lists.primGraph);
+    }
+
+    @Benchmark
+    public int primCsr(GraphInput graph) {
+        return PrimMST.prim(graph.undirected, 0);
+    }
+
+    @Benchmark
+    public Object primEager(GraphInput graph) {
+        return PrimMST.primEager(graph.undirected);
+    }
+
+    @Benchmark
+    public Object componentsAfforest(GraphInput graph) {
+        return ConnectedComponents.afforest(graph.undirected);
+    }
+
+    @Benchmark
+    public Object componentsLabelPropagation(GraphInput graph) {
+        return ConnectedComponents.labelPropagation(graph.undirected);
+    }
+
+    @Benchmark
+    public Object componentsStreaming(GraphInput graph) {
+        return ConnectedComponents.fromEdges(graph.vertexCount, graph.edges);
+    }
+
+    @Benchmark
+    public int dsuUnionAllEdges(GraphInput graph) {
+        DSU dsu = new DSU(graph.vertexCount);
+        int merged = 0;
+        for (int i = 0; i < graph.edges.size(); i++) if (dsu.union(graph.edges.from[i], graph.edges.to[i])) merged++;
+        return merged;
+    }
+
+    @Benchmark
+    public long concurrentDsuUnionAll(GraphInput graph) {
+        int m = graph.edges.size();
+        return new ConcurrentDSU(graph.vertexCount).unionAll(Arrays.copyOf(graph.edges.from, m), Arrays.copyOf(graph.edges.to, m));
+    }
+}
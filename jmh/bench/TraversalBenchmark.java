@@ -0,0 +1,153 @@
+package bench;
+
+import graph.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/***
+ * BFS, DFS, topological sorts and strongly connected components.
+ * <br>
+ * Each benchmark is reported as throughput and as sampled latency percentiles; add {@code -prof gc} for the
+ * allocation rate of all threads, including the ForkJoinPool workers of the parallel versions.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xss512m")
+public class TraversalBenchmark {
+
+    /***
+     * The directed graph and its DAG orientation written to temporary graph files and mapped
+     */
+    @State(Scope.Benchmark)
+    public static class MappedInput {
+        Path file, dagFile;
+        MappedGraph mapped, mappedDag;
+
+        @Setup(Level.Trial)
+        public void setUp(GraphInput graph) throws IOException {
+            file = Files.createTempFile("bench", ".csr");
+            dagFile = Files.createTempFile("bench-dag", ".csr");
+            MappedGraph.write(file, graph.directed);
+            MappedGraph.write(dagFile, graph.dag);
+            mapped = MappedGraph.open(file);
+            mappedDag = MappedGraph.open(dagFile);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            mapped = null;
+            mappedDag = null;
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(dagFile);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class TransposeInput {
+        CSRGraph reverse;
+
+        @Setup(Level.Trial)
+        public void setUp(GraphInput graph) {
+            reverse = graph.directed.transpose();
+        }
+    }
+
+    @Benchmark
+    public Object bfsList(ListInput lists) {
+        return BFS.fullBfs(lists.undirected);
+    }
+
+    @Benchmark
+    public Object bfsCsr(GraphInput graph) {
+        return BFS.fullBfs(graph.undirected);
+    }
+
+    @Benchmark
+    public Object bfsMapped(MappedInput input) {
+        return BFS.fullBfs(input.mapped);
+    }
+
+    @Benchmark
+    public Object parallelBfsDirectionOptimizing(GraphInput graph) {
+        return ParallelBFS.bfs(graph.undirected, graph.undirected, 0, ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public Object parallelBfsTopDown(GraphInput graph) {
+        return ParallelBFS.bfs(graph.undirected, 0);
+    }
+
+    @Benchmark
+    public Object dfsList(ListInput lists) {
+        return DFS.fullDfs(lists.undirected);
+    }
+
+    @Benchmark
+    public Object iterativeDfsList(ListInput lists) {
+        return DFS.iterativeDfs(lists.undirected);
+    }
+
+    @Benchmark
+    public Object iterativeDfsCsr(GraphInput graph) {
+        return DFS.iterativeDfs(graph.undirected);
+    }
+
+    @Benchmark
+    public Object topologicalSortDfsRecursive(GraphInput graph, ListInput lists) {
+        return TopologicalSortDFS.findPathRecursive(lists.dag, graph.vertexCount);
+    }
+
+    @Benchmark
+    public Object topologicalSortDfsIterative(GraphInput graph, ListInput lists) {
+        return TopologicalSortDFS.topoSortIterative(graph.vertexCount, lists.dag);
+    }
+
+    @Benchmark
+    public Object topologicalSortDfsCsr(GraphInput graph) {
+        return TopologicalSortDFS.findPath(graph.dag);
+    }
+
+    @Benchmark
+    public Object kahnList(GraphInput graph, ListInput lists) {
+        return TopologicalSortingKahnsAlgorithm.findPath(lists.dag, graph.vertexCount);
+    }
+
+    @Benchmark
+    public Object kahnCsr(GraphInput graph) {
+        return TopologicalSortingKahnsAlgorithm.findPath(graph.dag);
+    }
+
+    @Benchmark
+    public Object kahnMapped(MappedInput input) {
+        return TopologicalSortingKahnsAlgorithm.findPath(input.mappedDag);
+    }
+
+    @Benchmark
+    public Object parallelTopologicalSort(GraphInput graph) {
+        return ParallelTopologicalSort.sort(graph.dag);
+    }
+
+    @Benchmark
+    public Object dynamicTopologicalOrder(GraphInput graph) {
+        DynamicTopologicalOrder order = new DynamicTopologicalOrder(graph.vertexCount);
+        for (int i = 0; i < graph.dagEdges.size(); i++) order.addEdge(graph.dagEdges.from[i], graph.dagEdges.to[i]);
+        return order;
+    }
+
+    @Benchmark
+    public Object sccTarjan(GraphInput graph) {
+        return StronglyConnectedComponents.tarjan(graph.directed);
+    }
+
+    @Benchmark
+    public Object sccParallel(GraphInput graph, TransposeInput transpose) {
+        return StronglyConnectedComponents.parallel(graph.directed, transpose.reverse);
+    }
+}
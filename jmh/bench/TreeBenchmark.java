@@ -0,0 +1,163 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import tree.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/***
+ * Binary tree traversals, folds, array layouts and the mapped tree file, on a random Binary Search Tree of n keys.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xss512m")
+public class TreeBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({"1000000"})
+        public int n;
+
+        @Param({"42"})
+        public long seed;
+
+        TreeNode root;
+        int[] keys;    // 64k search keys
+        InOrder inOrder = new InOrder();
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            root = GraphGenerators.randomBst(n, seed);
+            keys = new SplittableRandom(seed).ints(1 << 16, 0, Math.max(1, n)).toArray();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ArrayInput {
+        @Param({"PRE_ORDER", "BFS", "VAN_EMDE_BOAS"})
+        public ArrayTree.Layout layout;
+
+        ArrayTree tree;
+
+        @Setup(Level.Trial)
+        public void setUp(Input input) {
+            tree = ArrayTree.of(input.root, layout);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class MappedInput {
+        Path file;
+        MappedTree mapped;
+
+        @Setup(Level.Trial)
+        public void setUp(Input input) throws IOException {
+            file = Files.createTempFile("bench", ".tree");
+            MappedTree.write(file, input.root);
+            mapped = MappedTree.open(file);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            mapped = null;
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Benchmark
+    public Object inOrderRecursive(Input input) {
+        return input.inOrder.recursiveInOrder(input.root);
+    }
+
+    @Benchmark
+    public Object inOrderIterative(Input input) {
+        return input.inOrder.iterativeInOrder(input.root);
+    }
+
+    @Benchmark
+    public long traversalInOrderSum(Input input) {
+        return TreeTraversal.stream(TreeTraversal.inOrder(input.root)).asLongStream().sum();
+    }
+
+    @Benchmark
+    public long traversalMorrisSum(Input input) {
+        return TreeTraversal.stream(TreeTraversal.morrisInOrder(input.root)).asLongStream().sum();
+    }
+
+    @Benchmark
+    public long traversalLevelOrderSum(Input input) {
+        return TreeTraversal.stream(TreeTraversal.levelOrder(input.root)).asLongStream().sum();
+    }
+
+    @Benchmark
+    public Object traversalRange100(Input input) {
+        return TreeTraversal.stream(TreeTraversal.range(input.root, input.n / 2, input.n / 2 + 100)).toArray();
+    }
+
+    @Benchmark
+    public long traversalParallelSum(Input input) {
+        return TreeTraversal.parallelStream(input.root).asLongStream().sum();
+    }
+
+    @Benchmark
+    public long foldSum(Input input) {
+        return TreeFold.sum(input.root);
+    }
+
+    @Benchmark
+    public int foldHeight(Input input) {
+        return TreeFold.height(input.root);
+    }
+
+    @Benchmark
+    public void treeNodeFind(Input input, Blackhole bh) {
+        for (int key : input.keys) {
+            TreeNode node = input.root;
+            while (node != null && node.val != key) node = key < node.val ? node.left : node.right;
+            bh.consume(node);
+        }
+    }
+
+    @Benchmark
+    public Object arrayTreeOf(Input input) {
+        return ArrayTree.of(input.root);
+    }
+
+    @Benchmark
+    public void arrayTreeFind(Input input, ArrayInput array, Blackhole bh) {
+        for (int key : input.keys) bh.consume(array.tree.find(key));
+    }
+
+    @Benchmark
+    public Object arrayTreeInOrder(ArrayInput array) {
+        return array.tree.inOrder();
+    }
+
+    @Benchmark
+    public Object mappedTreeWrite(Input input, MappedInput mapped) throws IOException {
+        MappedTree.write(mapped.file, input.root);
+        return mapped.file;
+    }
+
+    @Benchmark
+    public long mappedTreeOpenAndInOrderSum(MappedInput mapped) throws IOException {
+        return TreeTraversal.stream(MappedTree.open(mapped.file).inOrderIterator()).asLongStream().sum();
+    }
+
+    @Benchmark
+    public long mappedTreeInOrderSum(MappedInput mapped) {
+        return TreeTraversal.stream(mapped.mapped.inOrderIterator()).asLongStream().sum();
+    }
+
+    @Benchmark
+    public Object mappedTreeToTreeNode(MappedInput mapped) {
+        return mapped.mapped.toTreeNode();
+    }
+}
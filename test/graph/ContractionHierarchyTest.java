@@ -0,0 +1,115 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/***
+ * Contraction hierarchy queries checked against {@link Dijkstra#shortestPaths(CSRGraph, int)} over all pairs of small
+ * random graphs.
+ */
+class ContractionHierarchyTest {
+
+    @Test
+    void directedGraphsMatchDijkstra() {
+        SplittableRandom random = new SplittableRandom(1);
+        for (int round = 0; round < 20; round++) {
+            int n = 2 + random.nextInt(120);
+            CSRGraph graph = CSRGraph.fromEdgeList(n, randomEdges(random, n, 1 + random.nextInt(4), true), true);
+            assertMatchesDijkstra(graph, ContractionHierarchy.build(graph));
+        }
+    }
+
+    @Test
+    void undirectedGraphsMatchDijkstra() {
+        SplittableRandom random = new SplittableRandom(2);
+        for (int round = 0; round < 20; round++) {
+            int n = 2 + random.nextInt(120);
+            CSRGraph graph = CSRGraph.fromEdgeList(n, randomEdges(random, n, 1 + random.nextInt(3), true), false);
+            assertMatchesDijkstra(graph, ContractionHierarchy.build(graph));
+        }
+    }
+
+    @Test
+    void unweightedGraphsCountHops() {
+        SplittableRandom random = new SplittableRandom(3);
+        for (int round = 0; round < 10; round++) {
+            int n = 2 + random.nextInt(120);
+            CSRGraph graph = CSRGraph.fromEdgeList(n, randomEdges(random, n, 2, false), true);
+            assertMatchesDijkstra(graph, ContractionHierarchy.build(graph));
+        }
+    }
+
+    @Test
+    void saveAndLoadRoundTrip(@TempDir Path dir) throws IOException {
+        SplittableRandom random = new SplittableRandom(4);
+        int n = 150;
+        CSRGraph graph = CSRGraph.fromEdgeList(n, randomEdges(random, n, 3, true), true);
+        ContractionHierarchy built = ContractionHierarchy.build(graph);
+        Path file = dir.resolve("graph.ch");
+        built.save(file);
+        ContractionHierarchy loaded = ContractionHierarchy.load(file);
+
+        assertEquals(built.vertexCount(), loaded.vertexCount());
+        assertEquals(built.edgeCount(), loaded.edgeCount());
+        for (int v = 0; v < n; v++) assertEquals(built.rank(v), loaded.rank(v));
+        assertMatchesDijkstra(graph, loaded);
+    }
+
+    @Test
+    void loadRejectsOtherFiles(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("junk.ch");
+        java.nio.file.Files.write(file, new byte[64]);
+        assertThrows(IOException.class, () -> ContractionHierarchy.load(file));
+    }
+
+    private static EdgeList randomEdges(SplittableRandom random, int n, int avgDegree, boolean weighted) {
+        EdgeList edges = new EdgeList(n * avgDegree, weighted);
+        for (int i = 0; i < n * avgDegree; i++) {
+            if (weighted) edges.add(random.nextInt(n), random.nextInt(n), 1 + random.nextInt(20));
+            else edges.add(random.nextInt(n), random.nextInt(n));
+        }
+        return edges;
+    }
+
+    /***
+     * Every (source, target) pair: same distance as Dijkstra on graph, and the unpacked path is a walk of edges of
+     * graph with that total weight
+     */
+    private static void assertMatchesDijkstra(CSRGraph graph, ContractionHierarchy ch) {
+        ContractionHierarchy.Query query = new ContractionHierarchy.Query(ch);
+        int n = graph.vertexCount();
+        for (int s = 0; s < n; s++) {
+            ShortestPaths expected = Dijkstra.shortestPaths(graph, s);
+            for (int t = 0; t < n; t++) {
+                assertEquals(expected.distance(t), query.distance(s, t), "distance " + s + " -> " + t);
+
+                ShortestPathQuery.Path path = query.path(s, t);
+                assertEquals(expected.reachable(t), path.exists(), "path exists " + s + " -> " + t);
+                if (!path.exists()) continue;
+                assertEquals(expected.distance(t), path.distance);
+                assertEquals(s, path.vertices[0]);
+                assertEquals(t, path.vertices[path.vertices.length - 1]);
+                long length = 0;
+                for (int i = 0; i + 1 < path.vertices.length; i++) {
+                    length += lightestEdge(graph, path.vertices[i], path.vertices[i + 1]);
+                }
+                assertEquals(expected.distance(t), length, "unpacked path " + s + " -> " + t);
+            }
+        }
+    }
+
+    private static long lightestEdge(CSRGraph graph, int u, int v) {
+        long best = Long.MAX_VALUE;
+        for (int e = graph.offsets[u]; e < graph.offsets[u + 1]; e++) {
+            if (graph.targets[e] == v) best = Math.min(best, graph.weight(e));
+        }
+        assertNotEquals(Long.MAX_VALUE, best, "no edge " + u + " -> " + v);
+        return best;
+    }
+}
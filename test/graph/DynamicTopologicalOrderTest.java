@@ -0,0 +1,60 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/***
+ * The order stays topological across many reordering insertions, and bad vertex ids are rejected.
+ */
+class DynamicTopologicalOrderTest {
+
+    @Test
+    void keepsATopologicalOrderWhileEdgesAreInserted() {
+        int n = 300;
+        DynamicTopologicalOrder dto = new DynamicTopologicalOrder(n);
+        List<int[]> added = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 3000; i++) {
+            int u = random.nextInt(n), v = random.nextInt(n);
+            boolean closesCycle = u == v || reaches(dto, v, u);
+            assertEquals(!closesCycle, dto.addEdge(u, v), u + "→" + v);
+            if (!closesCycle) added.add(new int[]{u, v});
+
+            for (int[] e : added) assertTrue(dto.order(e[0]) < dto.order(e[1]));
+        }
+        for (int i = 0; i < n; i++) assertEquals(i, dto.order(dto.vertexAt(i)));
+    }
+
+    @Test
+    void rejectsVerticesOutOfRange() {
+        DynamicTopologicalOrder dto = new DynamicTopologicalOrder(3);
+        assertThrows(IndexOutOfBoundsException.class, () -> dto.addEdge(-1, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> dto.addEdge(0, -1));
+        assertThrows(IndexOutOfBoundsException.class, () -> dto.addEdge(3, 0));
+        // capacity grows past n, ids in the spare capacity are still out of range
+        dto.addVertex();
+        assertThrows(IndexOutOfBoundsException.class, () -> dto.addEdge(0, 4));
+        assertTrue(dto.addEdge(3, 0));
+    }
+
+    private static boolean reaches(DynamicTopologicalOrder dto, int from, int to) {
+        int n = dto.vertexCount();
+        boolean[] seen = new boolean[n];
+        Deque<Integer> stack = new ArrayDeque<>(List.of(from));
+        seen[from] = true;
+        while (!stack.isEmpty()) {
+            int w = stack.pop();
+            if (w == to) return true;
+            for (int x = 0; x < n; x++) {
+                if (!seen[x] && dto.hasEdge(w, x)) {
+                    seen[x] = true;
+                    stack.push(x);
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,53 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/***
+ * Ids and weights that do not fit in an int are rejected instead of wrapping.
+ */
+class EdgeListReaderTest {
+
+    private static EdgeListReader.Result read(String suffix, String content) throws IOException {
+        Path file = Files.createTempFile("edges", suffix);
+        try {
+            Files.writeString(file, content);
+            return EdgeListReader.read(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void readsIdsAndWeightsAtTheIntLimits() throws IOException {
+        EdgeListReader.Result result = read(".txt", "# u v w\n0 1 2147483647\n1 2 -2147483648\n");
+        assertEquals(3, result.vertexCount);
+        assertArrayEquals(new int[]{0, 1}, result.edges.from);
+        assertArrayEquals(new int[]{1, 2}, result.edges.to);
+        assertArrayEquals(new int[]{Integer.MAX_VALUE, Integer.MIN_VALUE}, result.edges.weights);
+
+        result = read(".mtx", "%%MatrixMarket matrix coordinate real general\n2 2 1\n1 2 2147483646.6\n");
+        assertArrayEquals(new int[]{Integer.MAX_VALUE}, result.edges.weights);
+    }
+
+    @Test
+    void rejectsIdsOutsideTheIntRange() {
+        assertThrows(IOException.class, () -> read(".txt", "1 4294967301\n"));
+        assertThrows(IOException.class, () -> read(".txt", "2147483647 0\n"));
+        assertThrows(IOException.class, () -> read(".txt", "-1 0\n"));
+        assertThrows(IOException.class, () -> read(".gr", "p sp 2 1\na 0 1 5\n"));
+    }
+
+    @Test
+    void rejectsWeightsOutsideTheIntRange() {
+        assertThrows(IOException.class, () -> read(".txt", "0 1 3000000000\n"));
+        assertThrows(IOException.class, () -> read(".gr", "p sp 2 1\na 1 2 -2147483649\n"));
+        assertThrows(IOException.class, () -> read(".mtx", "%%MatrixMarket matrix coordinate real general\n2 2 1\n1 2 2147483647.5\n"));
+        assertThrows(IOException.class, () -> read(".mtx", "%%MatrixMarket matrix coordinate real general\n2 2 1\n1 2 -3e9\n"));
+    }
+}
@@ -0,0 +1,26 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/***
+ * Int views of long distances never wrap.
+ */
+class ShortestPathsTest {
+
+    @Test
+    void intDistancesKeepMinusOneForUnreachable() {
+        ShortestPaths paths = new ShortestPaths(0, new long[]{0, Integer.MAX_VALUE, ShortestPaths.UNREACHABLE}, new int[]{-1, 0, -1});
+        assertArrayEquals(new int[]{0, Integer.MAX_VALUE, -1}, paths.toIntDistances());
+    }
+
+    @Test
+    void findMinPathRejectsDistancesBeyondInt() {
+        // 0 → 1 → 2 → 3 with weight 2^30 each: dist[3] = 3 * 2^30 > Integer.MAX_VALUE
+        int w = 1 << 30;
+        CSRGraph graph = CSRGraph.fromEdges(4, new int[]{0, 1, 2}, new int[]{1, 2, 3}, new int[]{w, w, w}, 3, true);
+        assertEquals(3L * w, Dijkstra.shortestPaths(graph, 0).distance(3));
+        assertThrows(ArithmeticException.class, () -> new Dijkstra().findMinPath(graph, 0));
+    }
+}
@@ -0,0 +1,53 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/***
+ * Every shortest-path engine counts hops on an unweighted graph (weight 1 per edge).
+ */
+class UnweightedShortestPathTest {
+    // 0 → 1 → 2, and 3 unreachable
+    private static final CSRGraph PATH = CSRGraph.fromAdjacencyList(List.of(List.of(1), List.of(2), List.of(), List.of()));
+    private static final long[] HOPS = {0, 1, 2, ShortestPaths.UNREACHABLE};
+
+    @Test
+    void dijkstraCountsHops() {
+        for (Dijkstra.HeapType heap : Dijkstra.HeapType.values()) {
+            assertArrayEquals(HOPS, Dijkstra.shortestPaths(PATH, 0, -1, heap).dist, heap.name());
+        }
+        assertArrayEquals(new int[]{0, 1, 2, -1}, new Dijkstra().findMinPath(PATH, 0));
+    }
+
+    @Test
+    void mappedDijkstraCountsHops() throws IOException {
+        Path file = Files.createTempFile("path", ".csr");
+        try {
+            MappedGraph.write(file, PATH);
+            assertArrayEquals(HOPS, Dijkstra.shortestPaths(MappedGraph.open(file), 0).dist);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void pointToPointEnginesAgree() {
+        assertEquals(2, new ShortestPathQuery(PATH, PATH.transpose()).dijkstra(0, 2).distance);
+        assertEquals(2, new ShortestPathQuery(PATH, PATH.transpose()).bfs(0, 2).distance);
+        assertEquals(2, new ContractionHierarchy.Query(ContractionHierarchy.build(PATH)).distance(0, 2));
+    }
+
+    @Test
+    void bellmanFordAndJohnsonCountHops() {
+        assertArrayEquals(HOPS, BellmanFord.spfa(PATH, 0).paths.dist);
+        long[][] rows = new long[4][];
+        Johnson.allPairs(PATH, (source, dist) -> rows[source] = dist.clone());
+        assertArrayEquals(HOPS, rows[0]);
+    }
+}
@@ -0,0 +1,323 @@
+package tree;
+
+import java.util.*;
+
+/***
+ * Binary Tree stored as parallel primitive arrays (struct of arrays) instead of TreeNode objects
+ *
+ * <p>
+ * Node ids are 0..size-1; node i has value {@code val[i]} and children {@code left[i]}, {@code right[i]} (-1 for
+ * none). That is 12 bytes per node, against 24 bytes for a TreeNode object plus the reference pointing at it, and
+ * the garbage collector sees three arrays instead of millions of objects.
+ * </p>
+ *
+ * <h3>Layouts (which node gets which id):</h3>
+ * <ul>
+ *     <li><b>PRE_ORDER:</b> a subtree is a contiguous id range; best for full traversals.</li>
+ *     <li><b>BFS:</b> level by level; the top levels, touched by every search, share a few cache lines.</li>
+ *     <li><b>VAN_EMDE_BOAS:</b> recursive blocks. The top half of the levels of a subtree is laid out first (itself
+ *     recursively), then each subtree hanging below it. Every root-to-leaf path then crosses O(log_B N) blocks of
+ *     B nodes for any cache-line or page size B, without knowing B.</li>
+ * </ul>
+ *
+ * <h3>Traversals:</h3>
+ * <ul>
+ *     <li>In-, pre- and level-order into an int[] or as a lazy iterator; {@link InOrder} has overloads for this
+ *     store.</li>
+ *     <li>{@link #find(int)} descends a Binary Search Tree.</li>
+ * </ul>
+ *
+ * <h3>Complexity:</h3>
+ * <ul>
+ *     <li>Conversion from/to TreeNode, BFS and pre-order layouts: O(N).</li>
+ *     <li>van Emde Boas layout: O(N log H).</li>
+ *     <li>Space: 12 bytes per node.</li>
+ * </ul>
+ */
+public final class ArrayTree {
+    public enum Layout { PRE_ORDER, BFS, VAN_EMDE_BOAS }
+
+    private final int[] val, left, right;
+    private final int root;
+
+    private ArrayTree(int[] val, int[] left, int[] right, int root) {
+        this.val = val;
+        this.left = left;
+        this.right = right;
+        this.root = root;
+    }
+
+    /***
+     * Copies a TreeNode tree in pre-order layout
+     */
+    public static ArrayTree of(TreeNode root) {
+        int n = 0;
+        for (PrimitiveIterator.OfInt it = TreeTraversal.preOrder(root); it.hasNext(); it.nextInt()) n++;
+        int[] val = new int[n], left = new int[n], right = new int[n];
+
+        // pre-order with, for each pending node, the id of its parent and which side it hangs on (-1 for the root)
+        TreeNode[] stack = new TreeNode[16];
+        int[] parentSlot = new int[16];
+        int size = 0, next = 0;
+        if (root != null) {
+            stack[size] = root;
+            parentSlot[size++] = -1;
+        }
+        while (size > 0) {
+            TreeNode node = stack[--size];
+            int slot = parentSlot[size];
+            stack[size] = null;
+            int id = next++;
+            val[id] = node.val;
+            left[id] = -1;
+            right[id] = -1;
+            if (slot >= 0) {
+                if ((slot & 1) == 0) left[slot >>> 1] = id;
+                else right[slot >>> 1] = id;
+            }
+            if (size + 2 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+                parentSlot = Arrays.copyOf(parentSlot, parentSlot.length * 2);
+            }
+            if (node.right != null) {
+                stack[size] = node.right;
+                parentSlot[size++] = id << 1 | 1;
+            }
+            if (node.left != null) {
+                stack[size] = node.left;
+                parentSlot[size++] = id << 1;
+            }
+        }
+        return new ArrayTree(val, left, right, n == 0 ? -1 : 0);
+    }
+
+    /***
+     * Copies a TreeNode tree in the given layout
+     */
+    public static ArrayTree of(TreeNode root, Layout layout) {
+        return of(root).withLayout(layout);
+    }
+
+    /***
+     * Same tree with ids reassigned in the given layout
+     */
+    public ArrayTree withLayout(Layout layout) {
+        int[] order;
+        switch (layout) {
+            case BFS: order = levelOrderIds(); break;
+            case VAN_EMDE_BOAS: order = vanEmdeBoasIds(); break;
+            default: order = preOrderIds(); break;
+        }
+        return permute(order);
+    }
+
+    /***
+     * Builds TreeNode objects for the whole tree
+     */
+    public TreeNode toTreeNode() {
+        int n = size();
+        TreeNode[] nodes = new TreeNode[n];
+        for (int i = 0; i < n; i++) {
+            nodes[i] = new TreeNode();
+            nodes[i].val = val[i];
+        }
+        for (int i = 0; i < n; i++) {
+            if (left[i] >= 0) nodes[i].left = nodes[left[i]];
+            if (right[i] >= 0) nodes[i].right = nodes[right[i]];
+        }
+        return root < 0 ? null : nodes[root];
+    }
+
+    public int size() {
+        return val.length;
+    }
+
+    /***
+     * Id of the root, -1 for an empty tree
+     */
+    public int root() {
+        return root;
+    }
+
+    public int val(int id) {
+        return val[id];
+    }
+
+    public int left(int id) {
+        return left[id];
+    }
+
+    public int right(int id) {
+        return right[id];
+    }
+
+    /***
+     * Id of a node with value key in a Binary Search Tree, -1 if there is none
+     */
+    public int find(int key) {
+        int node = root;
+        while (node >= 0) {
+            int v = val[node];
+            if (key == v) return node;
+            node = key < v ? left[node] : right[node];
+        }
+        return -1;
+    }
+
+    public int[] inOrder() {
+        int[] out = new int[size()];
+        int count = 0;
+        for (PrimitiveIterator.OfInt it = inOrderIterator(); it.hasNext(); ) out[count++] = it.nextInt();
+        return out;
+    }
+
+    public int[] preOrder() {
+        int[] ids = preOrderIds();
+        for (int i = 0; i < ids.length; i++) ids[i] = val[ids[i]];
+        return ids;
+    }
+
+    public int[] levelOrder() {
+        int[] ids = levelOrderIds();
+        for (int i = 0; i < ids.length; i++) ids[i] = val[ids[i]];
+        return ids;
+    }
+
+    /***
+     * Lazy in-order values, stack of ids
+     */
+    public PrimitiveIterator.OfInt inOrderIterator() {
+        IdInOrderIterator it = new IdInOrderIterator() {
+            @Override
+            int key(int node) {
+                return val[node];
+            }
+
+            @Override
+            int left(int node) {
+                return left[node];
+            }
+
+            @Override
+            int right(int node) {
+                return right[node];
+            }
+        };
+        it.start(root);
+        return it;
+    }
+
+    private int[] preOrderIds() {
+        int[] order = new int[size()];
+        int[] stack = new int[16];
+        int size = 0, count = 0;
+        if (root >= 0) stack[size++] = root;
+        while (size > 0) {
+            int node = stack[--size];
+            order[count++] = node;
+            if (size + 2 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+            if (right[node] >= 0) stack[size++] = right[node];
+            if (left[node] >= 0) stack[size++] = left[node];
+        }
+        return order;
+    }
+
+    private int[] levelOrderIds() {
+        int[] order = new int[size()];
+        int head = 0, tail = 0;
+        if (root >= 0) order[tail++] = root;
+        while (head < tail) {
+            int node = order[head++];
+            if (left[node] >= 0) order[tail++] = left[node];
+            if (right[node] >= 0) order[tail++] = right[node];
+        }
+        return order;
+    }
+
+    private int[] vanEmdeBoasIds() {
+        int[] order = new int[size()];
+        if (root < 0) return order;
+        int[] count = {0};
+        layoutVanEmdeBoas(root, height(), order, count);
+        return order;
+    }
+
+    /***
+     * Emits the nodes less than levels deep below node: the top half of the levels first, then every subtree rooted
+     * at the first level of the bottom half, left to right. Recursion depth is O(log levels).
+     */
+    private void layoutVanEmdeBoas(int node, int levels, int[] order, int[] count) {
+        if (levels == 1) {
+            order[count[0]++] = node;
+            return;
+        }
+        int top = levels / 2;
+        layoutVanEmdeBoas(node, top, order, count);
+        for (int bottomRoot : nodesAtDepth(node, top)) layoutVanEmdeBoas(bottomRoot, levels - top, order, count);
+    }
+
+    /***
+     * Descendants exactly depth levels below node, left to right
+     */
+    private int[] nodesAtDepth(int node, int depth) {
+        int[] found = new int[4];
+        int foundCount = 0;
+        int[] stack = new int[16], stackDepth = new int[16];
+        int size = 0;
+        stack[size] = node;
+        stackDepth[size++] = 0;
+        while (size > 0) {
+            int u = stack[--size], d = stackDepth[size];
+            if (d == depth) {
+                if (foundCount == found.length) found = Arrays.copyOf(found, foundCount * 2);
+                found[foundCount++] = u;
+                continue;
+            }
+            if (size + 2 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+                stackDepth = Arrays.copyOf(stackDepth, stackDepth.length * 2);
+            }
+            if (right[u] >= 0) {
+                stack[size] = right[u];
+                stackDepth[size++] = d + 1;
+            }
+            if (left[u] >= 0) {
+                stack[size] = left[u];
+                stackDepth[size++] = d + 1;
+            }
+        }
+        return Arrays.copyOf(found, foundCount);
+    }
+
+    /***
+     * Number of levels (0 for an empty tree), from a level-order sweep
+     */
+    private int height() {
+        int[] order = levelOrderIds();
+        int[] depth = new int[size()];
+        int height = 0;
+        for (int node : order) {
+            height = Math.max(height, depth[node] + 1);
+            if (left[node] >= 0) depth[left[node]] = depth[node] + 1;
+            if (right[node] >= 0) depth[right[node]] = depth[node] + 1;
+        }
+        return height;
+    }
+
+    /***
+     * New tree where the node at position k is old node order[k]
+     */
+    private ArrayTree permute(int[] order) {
+        int n = order.length;
+        int[] newId = new int[n];
+        for (int k = 0; k < n; k++) newId[order[k]] = k;
+        int[] v = new int[n], l = new int[n], r = new int[n];
+        for (int k = 0; k < n; k++) {
+            int old = order[k];
+            v[k] = val[old];
+            l[k] = left[old] < 0 ? -1 : newId[left[old]];
+            r[k] = right[old] < 0 ? -1 : newId[right[old]];
+        }
+        return new ArrayTree(v, l, r, root < 0 ? -1 : newId[root]);
+    }
+}
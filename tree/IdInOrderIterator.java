@@ -0,0 +1,98 @@
+package tree;
+
+import java.util.*;
+
+/***
+ * In-order iterator over a tree whose nodes are int ids (-1 for no child), optionally bounded to keys in [from, to)
+ *
+ * <p>
+ * The id-based counterpart of the TreeNode iterator behind {@link TreeTraversal#inOrder} and
+ * {@link TreeTraversal#range}, shared by the array-backed trees ({@link ArrayTree}, {@link IntAvlMap}): a subclass
+ * only says how to read the key and the children of an id, then calls {@link #start(int)} with the root.
+ * </p>
+ *
+ * <h3>Algorithm:</h3>
+ * <ul>
+ *     <li>The stack holds the path of nodes whose left subtree is being visited; the top is the next key.</li>
+ *     <li>Bounded: while pushing a left spine, a node below from is skipped together with its left subtree, and the
+ *     walk stops at the first key ≥ to.</li>
+ * </ul>
+ *
+ * <h3>Complexity:</h3>
+ * <ul>
+ *     <li>O(1) amortized per key, O(log N + k) for a range of k keys in a balanced tree.</li>
+ *     <li>Space: O(H).</li>
+ * </ul>
+ */
+abstract class IdInOrderIterator implements PrimitiveIterator.OfInt {
+    private final int from, to;
+    private final boolean bounded;
+    private int[] stack = new int[48];
+    private int size;
+
+    /***
+     * Iterator over every key
+     */
+    IdInOrderIterator() {
+        this(Integer.MIN_VALUE, Integer.MAX_VALUE, false);
+    }
+
+    /***
+     * Iterator over the keys in [from, to) of a Binary Search Tree
+     */
+    IdInOrderIterator(int from, int to) {
+        this(from, to, true);
+    }
+
+    private IdInOrderIterator(int from, int to, boolean bounded) {
+        this.from = from;
+        this.to = to;
+        this.bounded = bounded;
+    }
+
+    abstract int key(int node);
+
+    abstract int left(int node);
+
+    abstract int right(int node);
+
+    /***
+     * Positions the iterator on the first key of the tree rooted at root (-1 for an empty tree)
+     */
+    final void start(int root) {
+        pushLeft(root);
+    }
+
+    private void pushLeft(int node) {
+        while (node >= 0) {
+            if (bounded && key(node) < from) {
+                node = right(node);
+            } else {
+                if (size == stack.length) stack = Arrays.copyOf(stack, size * 2);
+                stack[size++] = node;
+                node = left(node);
+            }
+        }
+    }
+
+    @Override
+    public final boolean hasNext() {
+        if (size > 0 && bounded && key(stack[size - 1]) >= to) size = 0;
+        return size > 0;
+    }
+
+    /***
+     * Id of the next node in order
+     */
+    final int nextNode() {
+        if (!hasNext()) throw new NoSuchElementException();
+        int node = stack[--size];
+        pushLeft(right(node));
+        return node;
+    }
+
+    @Override
+    public final int nextInt() {
+        return key(nextNode());
+    }
+}
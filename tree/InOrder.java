@@ -17,7 +17,7 @@ import java.util.*;
  *     <li>Helps verify BST property: for all nodes, left < root < right.</li>
  * </ul>
  *
- * <h3>Algorithm (Recursive):</h3>
+ * <h3>Algorithm (Recursive, run on an explicit array stack):</h3>
  * <ol>
  *     <li>Recursively traverse the left subtree.</li>
  *     <li>Visit the current node.</li>
@@ -32,6 +32,11 @@ import java.util.*;
  *     <li>Repeat until both stack is empty and node is null.</li>
  * </ol>
  *
+ * <p>
+ * Both methods build the whole list. {@link TreeTraversal} gives the same order lazily (and Morris, pre-, post- and
+ * level-order), which is cheaper when only a prefix or a range of the values is needed.
+ * </p>
+ *
  * <h3>Complexity:</h3>
  * <ul>
  *     <li>Time: O(N) — each node is visited once.</li>
@@ -60,29 +65,33 @@ import java.util.*;
 public class InOrder {
 
     /***
-     * Performs recursive inorder traversal of a binary tree.
+     * Performs inorder traversal in the same order as the recursive algorithm.
+     *
+     * <p>The recursion is simulated with an explicit array of pending nodes (the path from the root),
+     * so degenerate trees of any depth do not overflow the thread stack.</p>
      *
      * @param root the root node of the binary tree
      * @return list of node values in inorder sequence
      */
     public List<Integer> recursiveInOrder(TreeNode root) {
         List<Integer> ans = new ArrayList<>();
-        recUtil(root, ans);
-        return ans;
-    }
+        TreeNode[] path = new TreeNode[16];
+        int depth = 0;
+        TreeNode node = root;
 
-    /***
-     * Helper method for recursive traversal.
-     *
-     * @param root current node being processed
-     * @param ans list to accumulate traversal order
-     */
-    private void recUtil(TreeNode root, List<Integer> ans) {
-        if (root == null) return;
+        while (node != null || depth > 0) {
+            while (node != null) {
+                if (depth == path.length) path = Arrays.copyOf(path, depth * 2);
+                path[depth++] = node;
+                node = node.left;
+            }
+            node = path[--depth];
+            path[depth] = null;
+            ans.add(node.val);
+            node = node.right;
+        }
 
-        recUtil(root.left, ans);
-        ans.add(root.val);
-        recUtil(root.right, ans);
+        return ans;
     }
 
     /***
@@ -97,7 +106,7 @@ public class InOrder {
      */
     public List<Integer> iterativeInOrder(TreeNode root) {
         List<Integer> ans = new ArrayList<>();
-        Stack<TreeNode> st = new Stack<>();
+        Deque<TreeNode> st = new ArrayDeque<>();
         TreeNode node = root;
 
         while (true) {
@@ -115,4 +124,56 @@ public class InOrder {
 
         return ans;
     }
-}
\ No newline at end of file
+
+    /***
+     * Same traversal as {@link #recursiveInOrder(TreeNode)} on a tree stored as arrays.
+     *
+     * @param tree the tree, in any layout
+     * @return list of node values in inorder sequence
+     */
+    public List<Integer> recursiveInOrder(ArrayTree tree) {
+        List<Integer> ans = new ArrayList<>(tree.size());
+        int[] path = new int[16];
+        int depth = 0;
+        int node = tree.root();
+
+        while (node >= 0 || depth > 0) {
+            while (node >= 0) {
+                if (depth == path.length) path = Arrays.copyOf(path, depth * 2);
+                path[depth++] = node;
+                node = tree.left(node);
+            }
+            node = path[--depth];
+            ans.add(tree.val(node));
+            node = tree.right(node);
+        }
+
+        return ans;
+    }
+
+    /***
+     * Same traversal as {@link #iterativeInOrder(TreeNode)} on a tree stored as arrays.
+     *
+     * <p>{@link ArrayTree#inOrder()} returns the values as an int[] without boxing.</p>
+     *
+     * @param tree the tree, in any layout
+     * @return list of node values in inorder sequence
+     */
+    public List<Integer> iterativeInOrder(ArrayTree tree) {
+        List<Integer> ans = new ArrayList<>(tree.size());
+        for (PrimitiveIterator.OfInt it = tree.inOrderIterator(); it.hasNext(); ) ans.add(it.nextInt());
+        return ans;
+    }
+
+    /***
+     * Same traversal as {@link #iterativeInOrder(TreeNode)} on a tree file, reading the mapped bytes directly.
+     *
+     * @param tree the mapped tree (at most 2^31 - 1 nodes for a list)
+     * @return list of node values in inorder sequence
+     */
+    public List<Integer> iterativeInOrder(MappedTree tree) {
+        List<Integer> ans = new ArrayList<>((int) Math.min(tree.size(), Integer.MAX_VALUE - 8));
+        tree.forEachInOrder(ans::add);
+        return ans;
+    }
+}
@@ -0,0 +1,416 @@
+package tree;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/***
+ * Ordered int → int map (AVL tree) with rank/select and range iteration, without boxing
+ *
+ * <p>
+ * Nodes live in one int[], six ints per node (key, left, right, height, subtree size, value: 24 bytes per entry,
+ * against roughly 70 for a {@code TreeMap<Integer, Integer>} entry with its two boxes). Unlike the parallel arrays
+ * of {@link ArrayTree}, the fields of a node are adjacent, so each level of a descent costs one cache miss instead of
+ * one per field. Removed nodes go to a free list and are reused. Used as a set through add/contains, with every
+ * value 0.
+ * </p>
+ *
+ * <h3>Algorithm:</h3>
+ * <ul>
+ *     <li>Insert and remove as in a plain BST, then walk back up and rotate wherever the heights of the two children
+ *     differ by 2 (single rotation, or double when the heavy child leans the other way). The height stays below
+ *     1.44 log2(N), so about 34 levels for 10M keys.</li>
+ *     <li>Every node also stores the size of its subtree, which gives rank (number of keys below a key) and select
+ *     (k-th smallest key) in one descent.</li>
+ *     <li>Range iteration is the bounded in-order walk of {@link TreeTraversal#range} on node ids, shared with
+ *     {@link ArrayTree} through {@code IdInOrderIterator}: the path to the first key ≥ from is pushed on an id
+ *     stack, and the walk stops at the first key ≥ to.</li>
+ * </ul>
+ *
+ * <h3>Complexity:</h3>
+ * <ul>
+ *     <li>put, remove, get, floor, ceiling, rank, select: O(log N).</li>
+ *     <li>Range of k keys: O(log N + k).</li>
+ *     <li>Space: O(N).</li>
+ * </ul>
+ *
+ * <h3>LeetCode / Practice Problems:</h3>
+ * <ul>
+ *     <li><a href="https://leetcode.com/problems/balance-a-binary-search-tree/">1382. Balance a Binary Search Tree</a></li>
+ *     <li><a href="https://leetcode.com/problems/count-of-smaller-numbers-after-self/">315. Count of Smaller Numbers After Self</a></li>
+ *     <li><a href="https://leetcode.com/problems/my-calendar-i/">729. My Calendar I</a></li>
+ * </ul>
+ */
+public final class IntAvlMap {
+    /***
+     * Returned by floorKey, ceilingKey, lowerKey and higherKey when there is no such key
+     */
+    public static final long NONE = Long.MIN_VALUE;
+
+    /***
+     * Receives the entries of a range, in key order
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(int key, int value);
+    }
+
+    // fields of node id at nodes[id * STRIDE + field]: everything a descent reads shares one cache line
+    private static final int KEY = 0, LEFT = 1, RIGHT = 2, HEIGHT = 3, COUNT = 4, VALUE = 5, STRIDE = 6;
+
+    private int[] nodes;
+    private int root = -1;
+    private int used;          // ids 0..used-1 have been handed out
+    private int free = -1;     // free list through the LEFT field
+
+    // set by the recursive insert/remove
+    private boolean changed;
+    private int detachedMin;
+
+    public IntAvlMap() {
+        this(16);
+    }
+
+    public IntAvlMap(int expectedSize) {
+        int capacity = Math.max(4, expectedSize);
+        nodes = new int[capacity * STRIDE];
+    }
+
+    public int size() {
+        return root < 0 ? 0 : nodes[root * STRIDE + COUNT];
+    }
+
+    public boolean isEmpty() {
+        return root < 0;
+    }
+
+    public boolean containsKey(int k) {
+        return find(k) >= 0;
+    }
+
+    /***
+     * Value for k, or defaultValue when k is absent
+     */
+    public int get(int k, int defaultValue) {
+        int node = find(k);
+        return node < 0 ? defaultValue : nodes[node * STRIDE + VALUE];
+    }
+
+    /***
+     * Maps k to v
+     * @return true if k was not in the map before
+     */
+    public boolean put(int k, int v) {
+        changed = false;
+        root = insert(root, k, v);
+        return changed;
+    }
+
+    /***
+     * Set-style insert (value 0)
+     * @return true if k was not in the set before
+     */
+    public boolean add(int k) {
+        return put(k, 0);
+    }
+
+    public boolean contains(int k) {
+        return containsKey(k);
+    }
+
+    /***
+     * @return true if k was in the map
+     */
+    public boolean remove(int k) {
+        changed = false;
+        root = delete(root, k);
+        return changed;
+    }
+
+    public void clear() {
+        root = -1;
+        used = 0;
+        free = -1;
+    }
+
+    public int firstKey() {
+        if (root < 0) throw new NoSuchElementException();
+        int node = root;
+        while (nodes[node * STRIDE + LEFT] >= 0) node = nodes[node * STRIDE + LEFT];
+        return nodes[node * STRIDE + KEY];
+    }
+
+    public int lastKey() {
+        if (root < 0) throw new NoSuchElementException();
+        int node = root;
+        while (nodes[node * STRIDE + RIGHT] >= 0) node = nodes[node * STRIDE + RIGHT];
+        return nodes[node * STRIDE + KEY];
+    }
+
+    /***
+     * Greatest key ≤ k, or {@link #NONE}
+     */
+    public long floorKey(int k) {
+        long best = NONE;
+        for (int node = root; node >= 0; ) {
+            if (nodes[node * STRIDE + KEY] == k) return k;
+            if (nodes[node * STRIDE + KEY] < k) {
+                best = nodes[node * STRIDE + KEY];
+                node = nodes[node * STRIDE + RIGHT];
+            } else {
+                node = nodes[node * STRIDE + LEFT];
+            }
+        }
+        return best;
+    }
+
+    /***
+     * Smallest key ≥ k, or {@link #NONE}
+     */
+    public long ceilingKey(int k) {
+        long best = NONE;
+        for (int node = root; node >= 0; ) {
+            if (nodes[node * STRIDE + KEY] == k) return k;
+            if (nodes[node * STRIDE + KEY] > k) {
+                best = nodes[node * STRIDE + KEY];
+                node = nodes[node * STRIDE + LEFT];
+            } else {
+                node = nodes[node * STRIDE + RIGHT];
+            }
+        }
+        return best;
+    }
+
+    /***
+     * Greatest key &lt; k, or {@link #NONE}
+     */
+    public long lowerKey(int k) {
+        return k == Integer.MIN_VALUE ? NONE : floorKey(k - 1);
+    }
+
+    /***
+     * Smallest key &gt; k, or {@link #NONE}
+     */
+    public long higherKey(int k) {
+        return k == Integer.MAX_VALUE ? NONE : ceilingKey(k + 1);
+    }
+
+    /***
+     * Number of keys strictly smaller than k
+     */
+    public int rank(int k) {
+        int rank = 0;
+        for (int node = root; node >= 0; ) {
+            if (k <= nodes[node * STRIDE + KEY]) {
+                node = nodes[node * STRIDE + LEFT];
+            } else {
+                rank += sizeOf(nodes[node * STRIDE + LEFT]) + 1;
+                node = nodes[node * STRIDE + RIGHT];
+            }
+        }
+        return rank;
+    }
+
+    /***
+     * The k-th smallest key, 0-based
+     */
+    public int select(int k) {
+        if (k < 0 || k >= size()) throw new IndexOutOfBoundsException("index " + k + ", size " + size());
+        int node = root;
+        while (true) {
+            int leftSize = sizeOf(nodes[node * STRIDE + LEFT]);
+            if (k < leftSize) {
+                node = nodes[node * STRIDE + LEFT];
+            } else if (k == leftSize) {
+                return nodes[node * STRIDE + KEY];
+            } else {
+                k -= leftSize + 1;
+                node = nodes[node * STRIDE + RIGHT];
+            }
+        }
+    }
+
+    /***
+     * All keys in ascending order
+     */
+    public PrimitiveIterator.OfInt keys() {
+        return new RangeIterator();
+    }
+
+    /***
+     * Keys in [from, to), ascending
+     */
+    public PrimitiveIterator.OfInt keys(int from, int to) {
+        return new RangeIterator(from, to);
+    }
+
+    public IntStream keyStream(int from, int to) {
+        return TreeTraversal.stream(keys(from, to));
+    }
+
+    /***
+     * Calls action for every entry with a key in [from, to), ascending
+     */
+    public void forEach(int from, int to, EntryConsumer action) {
+        RangeIterator it = new RangeIterator(from, to);
+        while (it.hasNext()) {
+            int node = it.nextNode();
+            action.accept(nodes[node * STRIDE + KEY], nodes[node * STRIDE + VALUE]);
+        }
+    }
+
+    private int find(int k) {
+        int node = root;
+        while (node >= 0 && nodes[node * STRIDE + KEY] != k) node = k < nodes[node * STRIDE + KEY] ? nodes[node * STRIDE + LEFT] : nodes[node * STRIDE + RIGHT];
+        return node;
+    }
+
+    private int sizeOf(int node) {
+        return node < 0 ? 0 : nodes[node * STRIDE + COUNT];
+    }
+
+    private int heightOf(int node) {
+        return node < 0 ? 0 : nodes[node * STRIDE + HEIGHT];
+    }
+
+    private void update(int node) {
+        nodes[node * STRIDE + HEIGHT] = 1 + Math.max(heightOf(nodes[node * STRIDE + LEFT]), heightOf(nodes[node * STRIDE + RIGHT]));
+        nodes[node * STRIDE + COUNT] = 1 + sizeOf(nodes[node * STRIDE + LEFT]) + sizeOf(nodes[node * STRIDE + RIGHT]);
+    }
+
+    private int insert(int node, int k, int v) {
+        if (node < 0) {
+            changed = true;
+            return newNode(k, v);
+        }
+        // the child is stored only after the call returns: a new node may have grown (replaced) the arrays
+        if (k < nodes[node * STRIDE + KEY]) {
+            int child = insert(nodes[node * STRIDE + LEFT], k, v);
+            nodes[node * STRIDE + LEFT] = child;
+        } else if (k > nodes[node * STRIDE + KEY]) {
+            int child = insert(nodes[node * STRIDE + RIGHT], k, v);
+            nodes[node * STRIDE + RIGHT] = child;
+        } else {
+            nodes[node * STRIDE + VALUE] = v;
+            return node;
+        }
+        return changed ? balance(node) : node;
+    }
+
+    private int delete(int node, int k) {
+        if (node < 0) return -1;
+        if (k < nodes[node * STRIDE + KEY]) {
+            nodes[node * STRIDE + LEFT] = delete(nodes[node * STRIDE + LEFT], k);
+        } else if (k > nodes[node * STRIDE + KEY]) {
+            nodes[node * STRIDE + RIGHT] = delete(nodes[node * STRIDE + RIGHT], k);
+        } else {
+            changed = true;
+            int l = nodes[node * STRIDE + LEFT], r = nodes[node * STRIDE + RIGHT];
+            release(node);
+            if (l < 0) return r;
+            if (r < 0) return l;
+            // replace by the successor: detach the minimum of the right subtree and put it here
+            r = removeMin(r);
+            int successor = detachedMin;
+            nodes[successor * STRIDE + LEFT] = l;
+            nodes[successor * STRIDE + RIGHT] = r;
+            return balance(successor);
+        }
+        return changed ? balance(node) : node;
+    }
+
+    private int removeMin(int node) {
+        if (nodes[node * STRIDE + LEFT] < 0) {
+            detachedMin = node;
+            return nodes[node * STRIDE + RIGHT];
+        }
+        nodes[node * STRIDE + LEFT] = removeMin(nodes[node * STRIDE + LEFT]);
+        return balance(node);
+    }
+
+    private int balance(int node) {
+        update(node);
+        int diff = heightOf(nodes[node * STRIDE + LEFT]) - heightOf(nodes[node * STRIDE + RIGHT]);
+        if (diff > 1) {
+            int l = nodes[node * STRIDE + LEFT];
+            if (heightOf(nodes[l * STRIDE + LEFT]) < heightOf(nodes[l * STRIDE + RIGHT])) nodes[node * STRIDE + LEFT] = rotateLeft(l);
+            return rotateRight(node);
+        }
+        if (diff < -1) {
+            int r = nodes[node * STRIDE + RIGHT];
+            if (heightOf(nodes[r * STRIDE + RIGHT]) < heightOf(nodes[r * STRIDE + LEFT])) nodes[node * STRIDE + RIGHT] = rotateRight(r);
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private int rotateRight(int node) {
+        int l = nodes[node * STRIDE + LEFT];
+        nodes[node * STRIDE + LEFT] = nodes[l * STRIDE + RIGHT];
+        nodes[l * STRIDE + RIGHT] = node;
+        update(node);
+        update(l);
+        return l;
+    }
+
+    private int rotateLeft(int node) {
+        int r = nodes[node * STRIDE + RIGHT];
+        nodes[node * STRIDE + RIGHT] = nodes[r * STRIDE + LEFT];
+        nodes[r * STRIDE + LEFT] = node;
+        update(node);
+        update(r);
+        return r;
+    }
+
+    private int newNode(int k, int v) {
+        int node;
+        if (free >= 0) {
+            node = free;
+            free = nodes[free * STRIDE + LEFT];
+        } else {
+            if (used * STRIDE == nodes.length) grow();
+            node = used++;
+        }
+        nodes[node * STRIDE + KEY] = k;
+        nodes[node * STRIDE + VALUE] = v;
+        nodes[node * STRIDE + LEFT] = -1;
+        nodes[node * STRIDE + RIGHT] = -1;
+        nodes[node * STRIDE + HEIGHT] = 1;
+        nodes[node * STRIDE + COUNT] = 1;
+        return node;
+    }
+
+    private void release(int node) {
+        nodes[node * STRIDE + LEFT] = free;
+        free = node;
+    }
+
+    private void grow() {
+        nodes = Arrays.copyOf(nodes, nodes.length * 2);
+    }
+
+    private final class RangeIterator extends IdInOrderIterator {
+        RangeIterator() {
+            start(root);
+        }
+
+        RangeIterator(int from, int to) {
+            super(from, to);
+            start(root);
+        }
+
+        @Override
+        int key(int node) {
+            return nodes[node * STRIDE + KEY];
+        }
+
+        @Override
+        int left(int node) {
+            return nodes[node * STRIDE + LEFT];
+        }
+
+        @Override
+        int right(int node) {
+            return nodes[node * STRIDE + RIGHT];
+        }
+    }
+}
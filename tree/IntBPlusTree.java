@@ -0,0 +1,484 @@
+package tree;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/***
+ * Ordered int → int map as a B+-tree with cache-line sized nodes, rank/select and range iteration
+ *
+ * <p>
+ * Same operations as {@link IntAvlMap}, laid out for the memory hierarchy instead of for pointer chasing:
+ * </p>
+ * <ul>
+ *     <li>An inner node holds up to {@value #INNER_CAPACITY} int keys (one 64-byte cache line) and one more child;
+ *     the child to follow is found by a linear scan over that line. Child i holds the keys &lt; keys[i], child i+1
+ *     those ≥ keys[i].</li>
+ *     <li>Leaves hold up to {@value #LEAF_CAPACITY} sorted keys with their values in two arrays, and are chained
+ *     left to right, so a range scan is a sequential walk over arrays.</li>
+ *     <li>Every node knows how many keys its subtree holds, which gives rank and select in one descent.</li>
+ *     <li>A full node is split in two halves and the separator goes up; a node that falls below half full borrows
+ *     from a sibling or is merged with it.</li>
+ * </ul>
+ * <p>
+ * A 10M-key tree is 5 levels deep, against about 30 for a balanced binary tree, and uses about 10 bytes per entry
+ * at the typical 70% leaf fill.
+ * </p>
+ *
+ * <h3>Complexity:</h3>
+ * <ul>
+ *     <li>put, remove, get, floor, ceiling, rank, select: O(log N), with a base of at least half the fan-out.</li>
+ *     <li>Range of k keys: O(log N + k).</li>
+ *     <li>Space: O(N).</li>
+ * </ul>
+ */
+public final class IntBPlusTree {
+    public static final long NONE = Long.MIN_VALUE;
+    static final int INNER_CAPACITY = 16;
+    static final int LEAF_CAPACITY = 32;
+    private static final int INNER_MIN = INNER_CAPACITY / 2, LEAF_MIN = LEAF_CAPACITY / 2;
+
+    private abstract static class Node {
+        int n;      // keys in this node
+        int size;   // keys in the subtree
+    }
+
+    private static final class Leaf extends Node {
+        // one spare slot: a leaf is split right after it overflows
+        final int[] keys = new int[LEAF_CAPACITY + 1];
+        final int[] values = new int[LEAF_CAPACITY + 1];
+        Leaf next;
+    }
+
+    private static final class Inner extends Node {
+        final int[] keys = new int[INNER_CAPACITY + 1];
+        final Node[] children = new Node[INNER_CAPACITY + 2];
+    }
+
+    private Node root = new Leaf();
+
+    // set by the recursive put/remove
+    private boolean changed;
+    private int splitKey;
+
+    public int size() {
+        return root.size;
+    }
+
+    public boolean isEmpty() {
+        return root.size == 0;
+    }
+
+    public boolean containsKey(int k) {
+        Leaf leaf = leafFor(k);
+        return indexOf(leaf, k) >= 0;
+    }
+
+    public boolean contains(int k) {
+        return containsKey(k);
+    }
+
+    public int get(int k, int defaultValue) {
+        Leaf leaf = leafFor(k);
+        int i = indexOf(leaf, k);
+        return i < 0 ? defaultValue : leaf.values[i];
+    }
+
+    /***
+     * Maps k to v
+     * @return true if k was not in the map before
+     */
+    public boolean put(int k, int v) {
+        changed = false;
+        Node sibling = insert(root, k, v);
+        if (sibling != null) {
+            Inner newRoot = new Inner();
+            newRoot.n = 1;
+            newRoot.keys[0] = splitKey;
+            newRoot.children[0] = root;
+            newRoot.children[1] = sibling;
+            newRoot.size = root.size + sibling.size;
+            root = newRoot;
+        }
+        return changed;
+    }
+
+    public boolean add(int k) {
+        return put(k, 0);
+    }
+
+    /***
+     * @return true if k was in the map
+     */
+    public boolean remove(int k) {
+        changed = false;
+        delete(root, k);
+        if (root instanceof Inner && root.n == 0) root = ((Inner) root).children[0];
+        return changed;
+    }
+
+    public void clear() {
+        root = new Leaf();
+    }
+
+    public int firstKey() {
+        if (isEmpty()) throw new NoSuchElementException();
+        return select(0);
+    }
+
+    public int lastKey() {
+        if (isEmpty()) throw new NoSuchElementException();
+        return select(size() - 1);
+    }
+
+    /***
+     * Number of keys strictly smaller than k
+     */
+    public int rank(int k) {
+        int rank = 0;
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            int i = childIndex(inner, k);
+            for (int c = 0; c < i; c++) rank += inner.children[c].size;
+            node = inner.children[i];
+        }
+        Leaf leaf = (Leaf) node;
+        int i = 0;
+        while (i < leaf.n && leaf.keys[i] < k) i++;
+        return rank + i;
+    }
+
+    /***
+     * The k-th smallest key, 0-based
+     */
+    public int select(int k) {
+        if (k < 0 || k >= size()) throw new IndexOutOfBoundsException("index " + k + ", size " + size());
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            int c = 0;
+            while (k >= inner.children[c].size) k -= inner.children[c++].size;
+            node = inner.children[c];
+        }
+        return ((Leaf) node).keys[k];
+    }
+
+    /***
+     * Greatest key ≤ k, or {@link #NONE}
+     */
+    public long floorKey(int k) {
+        int r = k == Integer.MAX_VALUE ? size() : rank(k + 1);
+        return r == 0 ? NONE : select(r - 1);
+    }
+
+    /***
+     * Smallest key ≥ k, or {@link #NONE}
+     */
+    public long ceilingKey(int k) {
+        Leaf leaf = leafFor(k);
+        int i = 0;
+        while (i < leaf.n && leaf.keys[i] < k) i++;
+        if (i == leaf.n) {
+            leaf = leaf.next;
+            i = 0;
+        }
+        return leaf == null ? NONE : leaf.keys[i];
+    }
+
+    public long lowerKey(int k) {
+        return k == Integer.MIN_VALUE ? NONE : floorKey(k - 1);
+    }
+
+    public long higherKey(int k) {
+        return k == Integer.MAX_VALUE ? NONE : ceilingKey(k + 1);
+    }
+
+    public PrimitiveIterator.OfInt keys() {
+        return new RangeIterator(leftmostLeaf(), 0, Integer.MAX_VALUE, false);
+    }
+
+    /***
+     * Keys in [from, to), ascending
+     */
+    public PrimitiveIterator.OfInt keys(int from, int to) {
+        Leaf leaf = leafFor(from);
+        int i = 0;
+        while (i < leaf.n && leaf.keys[i] < from) i++;
+        return new RangeIterator(leaf, i, to, true);
+    }
+
+    public IntStream keyStream(int from, int to) {
+        return TreeTraversal.stream(keys(from, to));
+    }
+
+    /***
+     * Calls action for every entry with a key in [from, to), ascending
+     */
+    public void forEach(int from, int to, IntAvlMap.EntryConsumer action) {
+        Leaf leaf = leafFor(from);
+        int i = 0;
+        while (i < leaf.n && leaf.keys[i] < from) i++;
+        for (; leaf != null; leaf = leaf.next, i = 0) {
+            for (; i < leaf.n; i++) {
+                if (leaf.keys[i] >= to) return;
+                action.accept(leaf.keys[i], leaf.values[i]);
+            }
+        }
+    }
+
+    /***
+     * Number of keys ≤ k in an inner node, i.e. the child whose range contains k
+     */
+    private static int childIndex(Inner inner, int k) {
+        int i = 0;
+        while (i < inner.n && inner.keys[i] <= k) i++;
+        return i;
+    }
+
+    private static int indexOf(Leaf leaf, int k) {
+        int lo = 0, hi = leaf.n - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int key = leaf.keys[mid];
+            if (key < k) lo = mid + 1;
+            else if (key > k) hi = mid - 1;
+            else return mid;
+        }
+        return -(lo + 1);
+    }
+
+    private Leaf leafFor(int k) {
+        Node node = root;
+        while (node instanceof Inner) node = ((Inner) node).children[childIndex((Inner) node, k)];
+        return (Leaf) node;
+    }
+
+    private Leaf leftmostLeaf() {
+        Node node = root;
+        while (node instanceof Inner) node = ((Inner) node).children[0];
+        return (Leaf) node;
+    }
+
+    /***
+     * Inserts below node; returns the new right sibling if node had to split (its first key in splitKey)
+     */
+    private Node insert(Node node, int k, int v) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int i = indexOf(leaf, k);
+            if (i >= 0) {
+                leaf.values[i] = v;
+                return null;
+            }
+            i = -i - 1;
+            System.arraycopy(leaf.keys, i, leaf.keys, i + 1, leaf.n - i);
+            System.arraycopy(leaf.values, i, leaf.values, i + 1, leaf.n - i);
+            leaf.keys[i] = k;
+            leaf.values[i] = v;
+            leaf.n++;
+            leaf.size++;
+            changed = true;
+            return leaf.n > LEAF_CAPACITY ? splitLeaf(leaf) : null;
+        }
+
+        Inner inner = (Inner) node;
+        int c = childIndex(inner, k);
+        Node sibling = insert(inner.children[c], k, v);
+        if (changed) inner.size++;
+        if (sibling == null) return null;
+        System.arraycopy(inner.keys, c, inner.keys, c + 1, inner.n - c);
+        System.arraycopy(inner.children, c + 1, inner.children, c + 2, inner.n - c);
+        inner.keys[c] = splitKey;
+        inner.children[c + 1] = sibling;
+        inner.n++;
+        return inner.n > INNER_CAPACITY ? splitInner(inner) : null;
+    }
+
+    private Leaf splitLeaf(Leaf leaf) {
+        Leaf right = new Leaf();
+        int half = leaf.n / 2;
+        right.n = leaf.n - half;
+        System.arraycopy(leaf.keys, half, right.keys, 0, right.n);
+        System.arraycopy(leaf.values, half, right.values, 0, right.n);
+        leaf.n = half;
+        leaf.size = half;
+        right.size = right.n;
+        right.next = leaf.next;
+        leaf.next = right;
+        splitKey = right.keys[0];
+        return right;
+    }
+
+    private Inner splitInner(Inner inner) {
+        Inner right = new Inner();
+        int mid = inner.n / 2;
+        splitKey = inner.keys[mid];
+        right.n = inner.n - mid - 1;
+        System.arraycopy(inner.keys, mid + 1, right.keys, 0, right.n);
+        System.arraycopy(inner.children, mid + 1, right.children, 0, right.n + 1);
+        Arrays.fill(inner.children, mid + 1, inner.n + 1, null);
+        inner.n = mid;
+        int moved = 0;
+        for (int c = 0; c <= right.n; c++) moved += right.children[c].size;
+        right.size = moved;
+        inner.size -= moved;
+        return right;
+    }
+
+    /***
+     * Removes k below node; the caller repairs node if it fell below half full
+     */
+    private void delete(Node node, int k) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int i = indexOf(leaf, k);
+            if (i < 0) return;
+            System.arraycopy(leaf.keys, i + 1, leaf.keys, i, leaf.n - i - 1);
+            System.arraycopy(leaf.values, i + 1, leaf.values, i, leaf.n - i - 1);
+            leaf.n--;
+            leaf.size--;
+            changed = true;
+            return;
+        }
+
+        Inner inner = (Inner) node;
+        int c = childIndex(inner, k);
+        Node child = inner.children[c];
+        delete(child, k);
+        if (!changed) return;
+        inner.size--;
+        if (child instanceof Leaf ? child.n < LEAF_MIN : child.n < INNER_MIN) repair(inner, c);
+    }
+
+    /***
+     * Child c of parent is below half full: borrow one entry from a sibling that can spare it, else merge
+     */
+    private void repair(Inner parent, int c) {
+        Node child = parent.children[c];
+        Node leftSibling = c > 0 ? parent.children[c - 1] : null;
+        Node rightSibling = c < parent.n ? parent.children[c + 1] : null;
+        int min = child instanceof Leaf ? LEAF_MIN : INNER_MIN;
+
+        if (leftSibling != null && leftSibling.n > min) {
+            if (child instanceof Leaf) borrowFromLeftLeaf(parent, c, (Leaf) leftSibling, (Leaf) child);
+            else borrowFromLeftInner(parent, c, (Inner) leftSibling, (Inner) child);
+        } else if (rightSibling != null && rightSibling.n > min) {
+            if (child instanceof Leaf) borrowFromRightLeaf(parent, c, (Leaf) child, (Leaf) rightSibling);
+            else borrowFromRightInner(parent, c, (Inner) child, (Inner) rightSibling);
+        } else if (leftSibling != null) {
+            merge(parent, c - 1);
+        } else if (rightSibling != null) {
+            merge(parent, c);
+        }
+    }
+
+    private static void borrowFromLeftLeaf(Inner parent, int c, Leaf left, Leaf leaf) {
+        System.arraycopy(leaf.keys, 0, leaf.keys, 1, leaf.n);
+        System.arraycopy(leaf.values, 0, leaf.values, 1, leaf.n);
+        left.n--;
+        leaf.keys[0] = left.keys[left.n];
+        leaf.values[0] = left.values[left.n];
+        leaf.n++;
+        left.size--;
+        leaf.size++;
+        parent.keys[c - 1] = leaf.keys[0];
+    }
+
+    private static void borrowFromRightLeaf(Inner parent, int c, Leaf leaf, Leaf right) {
+        leaf.keys[leaf.n] = right.keys[0];
+        leaf.values[leaf.n] = right.values[0];
+        leaf.n++;
+        System.arraycopy(right.keys, 1, right.keys, 0, right.n - 1);
+        System.arraycopy(right.values, 1, right.values, 0, right.n - 1);
+        right.n--;
+        leaf.size++;
+        right.size--;
+        parent.keys[c] = right.keys[0];
+    }
+
+    /***
+     * The separator comes down as the first key of the child, the last key of the left sibling goes up
+     */
+    private static void borrowFromLeftInner(Inner parent, int c, Inner left, Inner inner) {
+        System.arraycopy(inner.keys, 0, inner.keys, 1, inner.n);
+        System.arraycopy(inner.children, 0, inner.children, 1, inner.n + 1);
+        inner.keys[0] = parent.keys[c - 1];
+        Node moved = left.children[left.n];
+        inner.children[0] = moved;
+        inner.n++;
+        parent.keys[c - 1] = left.keys[left.n - 1];
+        left.children[left.n] = null;
+        left.n--;
+        left.size -= moved.size;
+        inner.size += moved.size;
+    }
+
+    private static void borrowFromRightInner(Inner parent, int c, Inner inner, Inner right) {
+        Node moved = right.children[0];
+        inner.keys[inner.n] = parent.keys[c];
+        inner.children[inner.n + 1] = moved;
+        inner.n++;
+        parent.keys[c] = right.keys[0];
+        System.arraycopy(right.keys, 1, right.keys, 0, right.n - 1);
+        System.arraycopy(right.children, 1, right.children, 0, right.n);
+        right.children[right.n] = null;
+        right.n--;
+        right.size -= moved.size;
+        inner.size += moved.size;
+    }
+
+    /***
+     * Merges child i + 1 of parent into child i and drops separator i
+     */
+    private static void merge(Inner parent, int i) {
+        Node left = parent.children[i], right = parent.children[i + 1];
+        if (left instanceof Leaf) {
+            Leaf l = (Leaf) left, r = (Leaf) right;
+            System.arraycopy(r.keys, 0, l.keys, l.n, r.n);
+            System.arraycopy(r.values, 0, l.values, l.n, r.n);
+            l.n += r.n;
+            l.next = r.next;
+        } else {
+            Inner l = (Inner) left, r = (Inner) right;
+            l.keys[l.n] = parent.keys[i];
+            System.arraycopy(r.keys, 0, l.keys, l.n + 1, r.n);
+            System.arraycopy(r.children, 0, l.children, l.n + 1, r.n + 1);
+            l.n += r.n + 1;
+        }
+        left.size += right.size;
+        System.arraycopy(parent.keys, i + 1, parent.keys, i, parent.n - i - 1);
+        System.arraycopy(parent.children, i + 2, parent.children, i + 1, parent.n - i - 1);
+        parent.children[parent.n] = null;
+        parent.n--;
+    }
+
+    private static final class RangeIterator implements PrimitiveIterator.OfInt {
+        private Leaf leaf;
+        private int i;
+        private final int to;
+        private final boolean bounded;
+
+        RangeIterator(Leaf leaf, int i, int to, boolean bounded) {
+            this.leaf = leaf;
+            this.i = i;
+            this.to = to;
+            this.bounded = bounded;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (leaf != null && i == leaf.n) {
+                leaf = leaf.next;
+                i = 0;
+            }
+            if (leaf != null && bounded && leaf.keys[i] >= to) leaf = null;
+            return leaf != null;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) throw new NoSuchElementException();
+            return leaf.keys[i++];
+        }
+    }
+}
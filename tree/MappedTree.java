@@ -0,0 +1,375 @@
+package tree;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.IntConsumer;
+
+/***
+ * Binary Tree stored in a compact binary file and read through memory mapping
+ *
+ * <p>
+ * The tree is written in pre-order as two sections: the values as packed ints, and the shape as two bits per node
+ * (has a left child, has a right child). That is 4 bytes and 2 bits per node, against 24 bytes for a TreeNode object
+ * plus the reference pointing at it. Opening the file costs no parsing and no heap; the OS pages data in on demand
+ * and can drop it under memory pressure.
+ * </p>
+ *
+ * <h3>File layout (all numbers little-endian, every section 8-byte aligned):</h3>
+ * <pre>
+ * offset  size  field
+ *      0     8  magic "TREEBIN1"
+ *      8     4  version (1)
+ *     12     4  flags (0)
+ *     16     8  node count N
+ *     24     8  position of values: N ints in pre-order
+ *     32     8  position of shape: ceil(N / 32) longs, node i at bits 2i (left) and 2i + 1 (right)
+ *     40     8  total file length
+ * </pre>
+ *
+ * <h3>Algorithm:</h3>
+ * <ul>
+ *     <li>Pre-order plus the two bits is enough to rebuild the tree: the node after one with a left child is that
+ *     left child, otherwise it is the right child of the most recent node whose right child is still missing.</li>
+ *     <li>In-order runs on the mapped bytes in one sequential pass over both sections. A node with a left child is
+ *     pushed (with its value) until its left subtree is done, so no value is read twice and no position is jumped
+ *     to.</li>
+ *     <li>{@link Writer} streams nodes to the file as they come; only the shape bits (N / 4 bytes) are buffered.</li>
+ * </ul>
+ *
+ * <h3>Complexity:</h3>
+ * <ul>
+ *     <li>write, open + full traversal, toTreeNode: O(N) time, O(H) heap.</li>
+ *     <li>open alone: O(1).</li>
+ *     <li>Space: 4.25 bytes per node on disk.</li>
+ * </ul>
+ *
+ * <p>
+ * The file is mapped read-only in 1 GiB windows like {@code graph.MappedGraph}, so trees larger than 2 GiB work. The
+ * mapping stays valid until the object is garbage collected, and one instance can be shared by concurrent readers.
+ * </p>
+ *
+ * <h3>LeetCode / Practice Problems:</h3>
+ * <ul>
+ *     <li><a href="https://leetcode.com/problems/serialize-and-deserialize-binary-tree/">297. Serialize and Deserialize Binary Tree</a></li>
+ *     <li><a href="https://leetcode.com/problems/serialize-and-deserialize-bst/">449. Serialize and Deserialize BST</a></li>
+ *     <li><a href="https://leetcode.com/problems/construct-binary-tree-from-preorder-and-inorder-traversal/">105. Construct Binary Tree from Preorder and Inorder Traversal</a></li>
+ * </ul>
+ */
+public final class MappedTree {
+    private static final long MAGIC = 0x314E494245455254L; // "TREEBIN1" read as a little-endian long
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int WINDOW_SHIFT = 30;
+    private static final long WINDOW_MASK = (1L << WINDOW_SHIFT) - 1;
+    private static final int LEFT = 1, RIGHT = 2;
+
+    private final MappedByteBuffer[] windows;
+    private final long size;
+    private final long valuesPos, shapePos;
+
+    private MappedTree(MappedByteBuffer[] windows) throws IOException {
+        this.windows = windows;
+        long length = windows.length == 0 ? 0 : ((long) windows.length - 1 << WINDOW_SHIFT) + windows[windows.length - 1].capacity();
+        if (length < HEADER_BYTES || getLong(0) != MAGIC) throw new IOException("not a tree file");
+        if (getInt(8) != VERSION) throw new IOException("unsupported tree file version " + getInt(8));
+        if (getLong(40) != length) throw new IOException("truncated tree file: expected " + getLong(40) + " bytes, found " + length);
+        size = getLong(16);
+        valuesPos = getLong(24);
+        shapePos = getLong(32);
+        if (size < 0 || valuesPos + 4 * size > shapePos || shapePos + 8 * ((size + 31) >>> 5) > length) {
+            throw new IOException("corrupt tree file header");
+        }
+    }
+
+    /***
+     * Maps a file written by {@link #write} or a {@link Writer}
+     * @throws IOException if the file cannot be read or is not a valid tree file
+     */
+    public static MappedTree open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new MappedTree(map(channel, channel.size()));
+        }
+    }
+
+    /***
+     * Writes a tree in pre-order
+     */
+    public static void write(Path path, TreeNode root) throws IOException {
+        try (Writer writer = new Writer(path)) {
+            TreeNode[] stack = new TreeNode[16];
+            int depth = 0;
+            if (root != null) stack[depth++] = root;
+            while (depth > 0) {
+                TreeNode node = stack[--depth];
+                stack[depth] = null;
+                writer.add(node.val, node.left != null, node.right != null);
+                if (depth + 2 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+                if (node.right != null) stack[depth++] = node.right;
+                if (node.left != null) stack[depth++] = node.left;
+            }
+        }
+    }
+
+    /***
+     * Writes a tree stored as arrays, in pre-order
+     */
+    public static void write(Path path, ArrayTree tree) throws IOException {
+        try (Writer writer = new Writer(path)) {
+            int[] stack = new int[16];
+            int depth = 0;
+            if (tree.root() >= 0) stack[depth++] = tree.root();
+            while (depth > 0) {
+                int node = stack[--depth];
+                int l = tree.left(node), r = tree.right(node);
+                writer.add(tree.val(node), l >= 0, r >= 0);
+                if (depth + 2 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+                if (r >= 0) stack[depth++] = r;
+                if (l >= 0) stack[depth++] = l;
+            }
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /***
+     * Value of the node at position i of the pre-order (the root is 0)
+     */
+    public int val(long i) {
+        return getInt(valuesPos + 4 * i);
+    }
+
+    public boolean hasLeft(long i) {
+        return (shape(i) & LEFT) != 0;
+    }
+
+    public boolean hasRight(long i) {
+        return (shape(i) & RIGHT) != 0;
+    }
+
+    /***
+     * Asks the OS to read the whole file into the page cache now instead of on first access
+     */
+    public void prefetch() {
+        for (MappedByteBuffer window : windows) window.load();
+    }
+
+    /***
+     * Builds TreeNode objects for the whole tree (needs N nodes of heap)
+     */
+    public TreeNode toTreeNode() {
+        if (size == 0) return null;
+        TreeNode root = null, previous = null;
+        boolean previousHasLeft = false;
+        // nodes whose right child has not been reached yet
+        TreeNode[] pending = new TreeNode[16];
+        int depth = 0;
+        for (long i = 0; i < size; i++) {
+            TreeNode node = new TreeNode();
+            node.val = val(i);
+            int bits = shape(i);
+            if (previous == null) root = node;
+            else if (previousHasLeft) previous.left = node;
+            else pending[--depth].right = node;
+            if ((bits & RIGHT) != 0) {
+                if (depth == pending.length) pending = Arrays.copyOf(pending, depth * 2);
+                pending[depth++] = node;
+            }
+            previous = node;
+            previousHasLeft = (bits & LEFT) != 0;
+        }
+        return root;
+    }
+
+    /***
+     * In-order values read straight from the mapping
+     */
+    public void forEachInOrder(IntConsumer action) {
+        for (PrimitiveIterator.OfInt it = inOrderIterator(); it.hasNext(); ) action.accept(it.nextInt());
+    }
+
+    /***
+     * Lazy in-order values read straight from the mapping, in one sequential pass
+     */
+    public PrimitiveIterator.OfInt inOrderIterator() {
+        return new InOrderIterator();
+    }
+
+    /***
+     * Lazy pre-order values: the values section as it is stored
+     */
+    public PrimitiveIterator.OfInt preOrderIterator() {
+        return new PrimitiveIterator.OfInt() {
+            private long position;
+
+            @Override
+            public boolean hasNext() {
+                return position < size;
+            }
+
+            @Override
+            public int nextInt() {
+                if (position == size) throw new NoSuchElementException();
+                return val(position++);
+            }
+        };
+    }
+
+    private int shape(long i) {
+        return (int) (getLong(shapePos + 8 * (i >>> 5)) >>> ((i & 31) << 1)) & 3;
+    }
+
+    private final class InOrderIterator implements PrimitiveIterator.OfInt {
+        private long position;          // next node of the pre-order
+        private boolean descend;        // whether the subtree rooted at position comes next
+        // nodes waiting for their left subtree to finish: value << 1 | has a right child
+        private long[] stack = new long[16];
+        private int depth;
+        private long word = -1, bits;   // cached shape long
+
+        InOrderIterator() {
+            descend = size > 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return descend || depth > 0;
+        }
+
+        @Override
+        public int nextInt() {
+            if (descend) {
+                while (true) {
+                    long i = position++;
+                    int value = val(i);
+                    int shape = nextShape(i);
+                    if ((shape & LEFT) == 0) {
+                        descend = (shape & RIGHT) != 0;
+                        return value;
+                    }
+                    if (depth == stack.length) stack = Arrays.copyOf(stack, depth * 2);
+                    stack[depth++] = (long) value << 1 | (shape >>> 1);
+                }
+            }
+            if (depth == 0) throw new NoSuchElementException();
+            long top = stack[--depth];
+            // the right child, if any, is the next node of the pre-order
+            descend = (top & 1) != 0;
+            return (int) (top >> 1);
+        }
+
+        private int nextShape(long i) {
+            if (i >>> 5 != word) {
+                word = i >>> 5;
+                bits = getLong(shapePos + 8 * word);
+            }
+            return (int) (bits >>> ((i & 31) << 1)) & 3;
+        }
+    }
+
+    /***
+     * Streams a tree into a new file. Nodes are added in pre-order; values go to the file as they come and the shape
+     * bits are written on close, followed by the header.
+     */
+    public static final class Writer implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+        private long[] shape = new long[16];
+        private long count;
+        private long open = 1;          // child slots announced but not filled yet
+
+        public Writer(Path path) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            channel.position(HEADER_BYTES);
+        }
+
+        /***
+         * Appends the next node of the pre-order
+         * @throws IllegalStateException if the tree is already complete
+         */
+        public void add(int val, boolean hasLeft, boolean hasRight) throws IOException {
+            if (open == 0) throw new IllegalStateException("the tree is already complete");
+            if (!buffer.hasRemaining()) flush();
+            buffer.putInt(val);
+            int word = (int) (count >>> 5);
+            if (word == shape.length) shape = Arrays.copyOf(shape, word * 2);
+            shape[word] |= (long) ((hasLeft ? LEFT : 0) | (hasRight ? RIGHT : 0)) << ((count & 31) << 1);
+            count++;
+            open += (hasLeft ? 1 : 0) + (hasRight ? 1 : 0) - 1;
+        }
+
+        /***
+         * Writes the shape and the header
+         * @throws IllegalStateException if a child announced by add was never added
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                if (count > 0 && open != 0) throw new IllegalStateException(open + " announced children were never added");
+                long valuesPos = HEADER_BYTES;
+                long shapePos = align8(valuesPos + 4 * count);
+                long words = (count + 31) >>> 5;
+                long length = shapePos + 8 * words;
+                while (channel.position() + buffer.position() < shapePos) put(0);
+                for (int w = 0; w < words; w++) putLong(shape[w]);
+                flush();
+
+                buffer.putLong(MAGIC).putInt(VERSION).putInt(0).putLong(count).putLong(valuesPos).putLong(shapePos).putLong(length);
+                while (buffer.position() < HEADER_BYTES) buffer.put((byte) 0);
+                buffer.flip();
+                for (long pos = 0; buffer.hasRemaining(); ) pos += channel.write(buffer, pos);
+                channel.force(false);
+            } finally {
+                channel.close();
+            }
+        }
+
+        private void put(int b) throws IOException {
+            if (!buffer.hasRemaining()) flush();
+            buffer.put((byte) b);
+        }
+
+        private void putLong(long v) throws IOException {
+            if (buffer.remaining() < 8) flush();
+            buffer.putLong(v);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+    }
+
+    private static MappedByteBuffer[] map(FileChannel channel, long length) throws IOException {
+        int count = (int) ((length + WINDOW_MASK) >>> WINDOW_SHIFT);
+        MappedByteBuffer[] windows = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long start = (long) i << WINDOW_SHIFT;
+            windows[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(length - start, 1L << WINDOW_SHIFT));
+            windows[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return windows;
+    }
+
+    private static long align8(long position) {
+        return (position + 7) & ~7L;
+    }
+
+    // Every value is aligned to its own size and windows are 1 GiB, so no value straddles two windows
+    private int getInt(long pos) {
+        return windows[(int) (pos >>> WINDOW_SHIFT)].getInt((int) (pos & WINDOW_MASK));
+    }
+
+    private long getLong(long pos) {
+        return windows[(int) (pos >>> WINDOW_SHIFT)].getLong((int) (pos & WINDOW_MASK));
+    }
+}
@@ -0,0 +1,254 @@
+package tree;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/***
+ * Parallel Folds (Aggregates) over a Binary Tree with Fork/Join
+ *
+ * <p>
+ * A fold computes one value per subtree from the values of its two child subtrees:
+ * <b>result(node) = combine(result(left), node.val, result(right))</b>, with a fixed result for an empty subtree.
+ * Sum, count, min, max and height are all folds; so is any custom aggregate that can be written this way.
+ * </p>
+ *
+ * <h3>Algorithm:</h3>
+ * <ol>
+ *     <li>At a node, fork the left subtree as a separate task and fold the right subtree in the current thread, then
+ *     join the left result and combine.</li>
+ *     <li>Forking stops when the worker already has a few queued tasks that idle threads can steal (the surplus
+ *     heuristic of {@link ForkJoinTask#getSurplusQueuedTaskCount}), or a few levels below log2(parallelism). Sizes
+ *     are unknown, so this adapts to unbalanced trees better than a static cutoff. A node with a single child is
+ *     descended in the same task.</li>
+ *     <li>The rest of the subtree is folded sequentially in post-order on an explicit stack, so degenerate trees of
+ *     any depth do not overflow the thread stack.</li>
+ * </ol>
+ *
+ * <h3>Complexity:</h3>
+ * <ul>
+ *     <li>Work: O(N) combine calls.</li>
+ *     <li>Span: O(H) — a balanced tree scales with the number of cores, a path does not.</li>
+ *     <li>Space: O(H) per worker.</li>
+ * </ul>
+ *
+ * <h3>LeetCode / Practice Problems:</h3>
+ * <ul>
+ *     <li><a href="https://leetcode.com/problems/maximum-depth-of-binary-tree/">104. Maximum Depth of Binary Tree</a></li>
+ *     <li><a href="https://leetcode.com/problems/count-complete-tree-nodes/">222. Count Complete Tree Nodes</a></li>
+ *     <li><a href="https://leetcode.com/problems/binary-tree-tilt/">563. Binary Tree Tilt</a></li>
+ * </ul>
+ */
+public final class TreeFold {
+    // fork at most this many levels below log2(parallelism): up to 2^EXTRA_DEPTH tasks per worker on a balanced tree
+    private static final int EXTRA_DEPTH = 5;
+    private static final int SURPLUS = 3;
+
+    private TreeFold() {
+    }
+
+    /***
+     * combine(result of left subtree, value of the node, result of right subtree)
+     */
+    @FunctionalInterface
+    public interface LongCombiner {
+        long combine(long left, int val, long right);
+    }
+
+    @FunctionalInterface
+    public interface Combiner<R> {
+        R combine(R left, int val, R right);
+    }
+
+    public static long sum(TreeNode root) {
+        return foldLong(root, 0, (l, v, r) -> l + v + r);
+    }
+
+    public static long count(TreeNode root) {
+        return foldLong(root, 0, (l, v, r) -> l + 1 + r);
+    }
+
+    public static OptionalInt min(TreeNode root) {
+        if (root == null) return OptionalInt.empty();
+        return OptionalInt.of((int) foldLong(root, Integer.MAX_VALUE, (l, v, r) -> Math.min(v, Math.min(l, r))));
+    }
+
+    public static OptionalInt max(TreeNode root) {
+        if (root == null) return OptionalInt.empty();
+        return OptionalInt.of((int) foldLong(root, Integer.MIN_VALUE, (l, v, r) -> Math.max(v, Math.max(l, r))));
+    }
+
+    /***
+     * Number of nodes on the longest root-to-leaf path (0 for an empty tree)
+     */
+    public static int height(TreeNode root) {
+        return (int) foldLong(root, 0, (l, v, r) -> 1 + Math.max(l, r));
+    }
+
+    /***
+     * Primitive fold on the common ForkJoinPool
+     *
+     * @param empty    result of an empty subtree
+     * @param combiner must be side-effect free; it runs concurrently on different subtrees
+     */
+    public static long foldLong(TreeNode root, long empty, LongCombiner combiner) {
+        return foldLong(root, empty, combiner, ForkJoinPool.commonPool());
+    }
+
+    public static long foldLong(TreeNode root, long empty, LongCombiner combiner, ForkJoinPool pool) {
+        if (root == null) return empty;
+        return pool.invoke(new LongFoldTask(root, empty, combiner, maxDepth(pool)));
+    }
+
+    /***
+     * Fold to any result type on the common ForkJoinPool
+     *
+     * @param empty    result of an empty subtree (shared, so it should be immutable)
+     * @param combiner must be side-effect free; it runs concurrently on different subtrees
+     */
+    public static <R> R fold(TreeNode root, R empty, Combiner<R> combiner) {
+        return fold(root, empty, combiner, ForkJoinPool.commonPool());
+    }
+
+    public static <R> R fold(TreeNode root, R empty, Combiner<R> combiner, ForkJoinPool pool) {
+        if (root == null) return empty;
+        return pool.invoke(new FoldTask<>(root, empty, combiner, maxDepth(pool)));
+    }
+
+    private static int maxDepth(ForkJoinPool pool) {
+        return 32 - Integer.numberOfLeadingZeros(pool.getParallelism()) + EXTRA_DEPTH;
+    }
+
+    /***
+     * @param levels number of levels left before the fold goes sequential
+     */
+    private static boolean shouldSplit(int levels) {
+        return levels > 0 && ForkJoinTask.getSurplusQueuedTaskCount() <= SURPLUS;
+    }
+
+    private static final class LongFoldTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final TreeNode node;
+        private final long empty;
+        private final LongCombiner combiner;
+        private final int levels;
+
+        LongFoldTask(TreeNode node, long empty, LongCombiner combiner, int levels) {
+            this.node = node;
+            this.empty = empty;
+            this.combiner = combiner;
+            this.levels = levels;
+        }
+
+        @Override
+        protected Long compute() {
+            return fold(node, levels);
+        }
+
+        private long fold(TreeNode node, int levels) {
+            if (node == null) return empty;
+            if (!shouldSplit(levels)) return sequential(node, empty, combiner);
+            if (node.left == null || node.right == null) {
+                // a single child: keep descending in this task until there is something to split
+                return combiner.combine(fold(node.left, levels - 1), node.val, fold(node.right, levels - 1));
+            }
+            LongFoldTask left = new LongFoldTask(node.left, empty, combiner, levels - 1);
+            left.fork();
+            long right = fold(node.right, levels - 1);
+            return combiner.combine(left.join(), node.val, right);
+        }
+    }
+
+    private static final class FoldTask<R> extends RecursiveTask<R> {
+        private static final long serialVersionUID = 1L;
+
+        private final TreeNode node;
+        private final R empty;
+        private final Combiner<R> combiner;
+        private final int levels;
+
+        FoldTask(TreeNode node, R empty, Combiner<R> combiner, int levels) {
+            this.node = node;
+            this.empty = empty;
+            this.combiner = combiner;
+            this.levels = levels;
+        }
+
+        @Override
+        protected R compute() {
+            return fold(node, levels);
+        }
+
+        private R fold(TreeNode node, int levels) {
+            if (node == null) return empty;
+            if (!shouldSplit(levels)) return sequential(node, empty, combiner);
+            if (node.left == null || node.right == null) {
+                return combiner.combine(fold(node.left, levels - 1), node.val, fold(node.right, levels - 1));
+            }
+            FoldTask<R> left = new FoldTask<>(node.left, empty, combiner, levels - 1);
+            left.fork();
+            R right = fold(node.right, levels - 1);
+            return combiner.combine(left.join(), node.val, right);
+        }
+    }
+
+    /***
+     * Post-order fold: a node is combined once both child results are on top of the result stack
+     */
+    private static long sequential(TreeNode root, long empty, LongCombiner combiner) {
+        TreeNode[] path = new TreeNode[16];
+        long[] results = new long[16];
+        int depth = 0, count = 0;
+        TreeNode node = root, last = null;
+        while (node != null || depth > 0) {
+            if (node != null) {
+                if (depth == path.length) path = Arrays.copyOf(path, depth * 2);
+                path[depth++] = node;
+                node = node.left;
+                continue;
+            }
+            TreeNode top = path[depth - 1];
+            if (top.right != null && top.right != last) {
+                node = top.right;
+                continue;
+            }
+            depth--;
+            long right = top.right != null ? results[--count] : empty;
+            long left = top.left != null ? results[--count] : empty;
+            if (count == results.length) results = Arrays.copyOf(results, count * 2);
+            results[count++] = combiner.combine(left, top.val, right);
+            last = top;
+        }
+        return results[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> R sequential(TreeNode root, R empty, Combiner<R> combiner) {
+        TreeNode[] path = new TreeNode[16];
+        Object[] results = new Object[16];
+        int depth = 0, count = 0;
+        TreeNode node = root, last = null;
+        while (node != null || depth > 0) {
+            if (node != null) {
+                if (depth == path.length) path = Arrays.copyOf(path, depth * 2);
+                path[depth++] = node;
+                node = node.left;
+                continue;
+            }
+            TreeNode top = path[depth - 1];
+            if (top.right != null && top.right != last) {
+                node = top.right;
+                continue;
+            }
+            depth--;
+            R right = top.right != null ? (R) results[--count] : empty;
+            R left = top.left != null ? (R) results[--count] : empty;
+            if (count == results.length) results = Arrays.copyOf(results, count * 2);
+            results[count++] = combiner.combine(left, top.val, right);
+            last = top;
+        }
+        return (R) results[0];
+    }
+}
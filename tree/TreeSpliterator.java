@@ -0,0 +1,121 @@
+package tree;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+
+/***
+ * Splittable in-order Spliterator over a Binary Tree
+ *
+ * <p>
+ * Lets {@code StreamSupport.intStream(new TreeSpliterator(root), true)} (or {@link TreeTraversal#parallelStream})
+ * spread a tree over several cores. The remaining work is always "one pending node, then a whole subtree", which is
+ * closed under splitting at the root of the subtree:
+ * </p>
+ * <pre>
+ * [first] + subtree(x)   →   prefix: [first] + subtree(x.left)      rest: [x] + subtree(x.right)
+ * </pre>
+ * <p>
+ * so in-order (encounter order) is preserved and ordered operations (findFirst, forEachOrdered, limit) stay correct.
+ * A subtree without a left child is not split. Sizes are unknown, so each split halves the size estimate; starting
+ * from the node count when it is known keeps the stream framework's splitting close to balanced trees.
+ * </p>
+ *
+ * <h3>Complexity:</h3>
+ * <ul>
+ *     <li>trySplit: O(1)</li>
+ *     <li>Traversal: O(1) amortized per value, O(H) stack per spliterator.</li>
+ * </ul>
+ */
+public final class TreeSpliterator implements Spliterator.OfInt {
+    private TreeNode first;
+    private TreeNode subtree;
+    private long estimate;
+    // in-order stack, used once traversal has started; splitting stops then
+    private TreeNode[] stack;
+    private int size;
+
+    /***
+     * Spliterator over a tree of unknown size
+     */
+    public TreeSpliterator(TreeNode root) {
+        this(root, Long.MAX_VALUE);
+    }
+
+    /***
+     * @param size number of nodes, or an estimate of it
+     */
+    public TreeSpliterator(TreeNode root, long size) {
+        this(null, root, size);
+    }
+
+    private TreeSpliterator(TreeNode first, TreeNode subtree, long estimate) {
+        this.first = first;
+        this.subtree = subtree;
+        this.estimate = estimate;
+    }
+
+    @Override
+    public OfInt trySplit() {
+        if (stack != null || subtree == null || subtree.left == null) return null;
+        TreeSpliterator prefix = new TreeSpliterator(first, subtree.left, estimate >>> 1);
+        first = subtree;
+        subtree = subtree.right;
+        estimate -= prefix.estimate;
+        return prefix;
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+        if (first != null) {
+            TreeNode node = first;
+            first = null;
+            action.accept(node.val);
+            return true;
+        }
+        if (stack == null) start();
+        if (size == 0) return false;
+        TreeNode node = stack[--size];
+        stack[size] = null;
+        pushLeft(node.right);
+        action.accept(node.val);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+        if (first != null) {
+            action.accept(first.val);
+            first = null;
+        }
+        if (stack == null) start();
+        while (size > 0) {
+            TreeNode node = stack[--size];
+            stack[size] = null;
+            pushLeft(node.right);
+            action.accept(node.val);
+        }
+    }
+
+    private void start() {
+        stack = new TreeNode[16];
+        pushLeft(subtree);
+        subtree = null;
+    }
+
+    private void pushLeft(TreeNode node) {
+        for (; node != null; node = node.left) {
+            if (size == stack.length) stack = Arrays.copyOf(stack, size * 2);
+            stack[size++] = node;
+        }
+    }
+
+    @Override
+    public long estimateSize() {
+        return estimate;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+}
@@ -0,0 +1,312 @@
+package tree;
+
+import java.util.*;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/***
+ * Lazy traversals of a Binary Tree as primitive iterators and streams
+ *
+ * <p>
+ * Unlike {@link InOrder}, nothing is materialized: each value is produced when it is asked for, without boxing,
+ * so a consumer that stops early ("first k in order", a range scan) only pays for the nodes it actually visits.
+ * </p>
+ *
+ * <h3>Orders:</h3>
+ * <ul>
+ *     <li><b>In-order</b> (Left → Node → Right): explicit array stack holding the path of pending ancestors.</li>
+ *     <li><b>Pre-order</b> (Node → Left → Right): stack of subtrees still to visit, right pushed before left.</li>
+ *     <li><b>Post-order</b> (Left → Right → Node): path stack plus the last emitted node, to tell whether the right
+ *     subtree of the top is already done.</li>
+ *     <li><b>Level-order</b>: FIFO queue, one level after the other.</li>
+ *     <li><b>Morris in-order</b>: O(1) extra space. Before descending into the left subtree of a node, the right
+ *     pointer of its in-order predecessor is pointed back at it (a thread), which later replaces the stack pop; the
+ *     thread is removed when it is followed. The tree is modified while iterating: the iterator must be exhausted or
+ *     closed, and the tree must not be read or shared meanwhile.</li>
+ *     <li><b>Range</b>: in-order over a Binary Search Tree restricted to [from, to): the descent skips every subtree
+ *     left of from, and the iterator ends at the first value ≥ to.</li>
+ * </ul>
+ *
+ * <h3>Early termination:</h3>
+ * <pre>
+ * int[] firstK = TreeTraversal.stream(TreeTraversal.inOrder(root)).limit(k).toArray();
+ *
+ * try (IntStream s = TreeTraversal.stream(TreeTraversal.morrisInOrder(root))) {   // close() repairs the tree
+ *     firstK = s.limit(k).toArray();
+ * }
+ * </pre>
+ *
+ * <h3>Complexity:</h3>
+ * <ul>
+ *     <li>Time: O(1) amortized per value; the first k values of in/pre-order cost O(k + H).</li>
+ *     <li>Space: O(H) for in/pre/post-order and range, O(width) for level-order, O(1) for Morris.</li>
+ *     <li>Range: O(H + number of values returned).</li>
+ * </ul>
+ *
+ * <h3>LeetCode / Practice Problems:</h3>
+ * <ul>
+ *     <li><a href="https://leetcode.com/problems/binary-search-tree-iterator/">173. BST Iterator</a></li>
+ *     <li><a href="https://leetcode.com/problems/kth-smallest-element-in-a-bst/">230. Kth Smallest Element in a BST</a></li>
+ *     <li><a href="https://leetcode.com/problems/range-sum-of-bst/">938. Range Sum of BST</a></li>
+ *     <li><a href="https://leetcode.com/problems/binary-tree-postorder-traversal/">145. Binary Tree Postorder Traversal</a></li>
+ * </ul>
+ */
+public final class TreeTraversal {
+
+    private TreeTraversal() {
+    }
+
+    public static PrimitiveIterator.OfInt inOrder(TreeNode root) {
+        return new InOrderIterator(root, Integer.MIN_VALUE, Integer.MAX_VALUE, false);
+    }
+
+    public static PrimitiveIterator.OfInt preOrder(TreeNode root) {
+        return new PreOrderIterator(root);
+    }
+
+    public static PrimitiveIterator.OfInt postOrder(TreeNode root) {
+        return new PostOrderIterator(root);
+    }
+
+    public static PrimitiveIterator.OfInt levelOrder(TreeNode root) {
+        return new LevelOrderIterator(root);
+    }
+
+    /***
+     * In-order without a stack. Call close() when stopping before the end, to remove the threads still in the tree.
+     */
+    public static MorrisIterator morrisInOrder(TreeNode root) {
+        return new MorrisIterator(root);
+    }
+
+    /***
+     * Values of a Binary Search Tree in [from, to), ascending
+     *
+     * @param from smallest value returned (inclusive)
+     * @param to   end of the range (exclusive)
+     */
+    public static PrimitiveIterator.OfInt range(TreeNode root, int from, int to) {
+        return new InOrderIterator(root, from, to, true);
+    }
+
+    /***
+     * Sequential ordered stream over any of the iterators above; a Morris iterator is closed with the stream
+     */
+    public static IntStream stream(PrimitiveIterator.OfInt iterator) {
+        IntStream stream = StreamSupport.intStream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+        return iterator instanceof MorrisIterator ? stream.onClose(((MorrisIterator) iterator)::close) : stream;
+    }
+
+    /***
+     * Parallel in-order stream, split at subtree roots by {@link TreeSpliterator}; for aggregates that fit the shape
+     * of the tree, {@link TreeFold} avoids the stream overhead
+     */
+    public static IntStream parallelStream(TreeNode root) {
+        return StreamSupport.intStream(new TreeSpliterator(root), true);
+    }
+
+    /***
+     * Growable array of nodes used as a stack by the iterators
+     */
+    private static class NodeStack {
+        TreeNode[] nodes = new TreeNode[16];
+        int size;
+
+        void push(TreeNode node) {
+            if (size == nodes.length) nodes = Arrays.copyOf(nodes, size * 2);
+            nodes[size++] = node;
+        }
+
+        TreeNode pop() {
+            TreeNode node = nodes[--size];
+            nodes[size] = null;
+            return node;
+        }
+    }
+
+    private static final class InOrderIterator extends NodeStack implements PrimitiveIterator.OfInt {
+        private final int from, to;
+        private final boolean bounded;
+
+        InOrderIterator(TreeNode root, int from, int to, boolean bounded) {
+            this.from = from;
+            this.to = to;
+            this.bounded = bounded;
+            pushLeft(root);
+        }
+
+        /***
+         * Pushes the left spine of node; in range mode, nodes below from are skipped together with their left subtree
+         */
+        private void pushLeft(TreeNode node) {
+            while (node != null) {
+                if (bounded && node.val < from) {
+                    node = node.right;
+                } else {
+                    push(node);
+                    node = node.left;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (size > 0 && bounded && nodes[size - 1].val >= to) size = 0;
+            return size > 0;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) throw new NoSuchElementException();
+            TreeNode node = pop();
+            pushLeft(node.right);
+            return node.val;
+        }
+    }
+
+    private static final class PreOrderIterator extends NodeStack implements PrimitiveIterator.OfInt {
+        PreOrderIterator(TreeNode root) {
+            if (root != null) push(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return size > 0;
+        }
+
+        @Override
+        public int nextInt() {
+            if (size == 0) throw new NoSuchElementException();
+            TreeNode node = pop();
+            if (node.right != null) push(node.right);
+            if (node.left != null) push(node.left);
+            return node.val;
+        }
+    }
+
+    private static final class PostOrderIterator extends NodeStack implements PrimitiveIterator.OfInt {
+        private TreeNode last;
+
+        PostOrderIterator(TreeNode root) {
+            descend(root);
+        }
+
+        /***
+         * Pushes the path to the first post-order node of the subtree: leftmost while possible, else rightmost
+         */
+        private void descend(TreeNode node) {
+            while (node != null) {
+                push(node);
+                node = node.left != null ? node.left : node.right;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return size > 0;
+        }
+
+        @Override
+        public int nextInt() {
+            if (size == 0) throw new NoSuchElementException();
+            TreeNode node = pop();
+            last = node;
+            if (size > 0) {
+                TreeNode parent = nodes[size - 1];
+                // coming up from the left child: the right subtree of the parent is next
+                if (parent.left == last && parent.right != null) descend(parent.right);
+            }
+            return node.val;
+        }
+    }
+
+    private static final class LevelOrderIterator implements PrimitiveIterator.OfInt {
+        private final ArrayDeque<TreeNode> queue = new ArrayDeque<>();
+
+        LevelOrderIterator(TreeNode root) {
+            if (root != null) queue.add(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !queue.isEmpty();
+        }
+
+        @Override
+        public int nextInt() {
+            TreeNode node = queue.remove();
+            if (node.left != null) queue.add(node.left);
+            if (node.right != null) queue.add(node.right);
+            return node.val;
+        }
+    }
+
+    /***
+     * Morris in-order traversal. The tree holds temporary threads until the iterator is exhausted or closed.
+     */
+    public static final class MorrisIterator implements PrimitiveIterator.OfInt, AutoCloseable {
+        private TreeNode current;
+        private TreeNode next;
+
+        MorrisIterator(TreeNode root) {
+            current = root;
+            advance();
+        }
+
+        /***
+         * Moves to the next node to emit, threading predecessors on the way down and unthreading them on the way up
+         */
+        private void advance() {
+            next = null;
+            while (current != null) {
+                if (current.left == null) {
+                    next = current;
+                    current = current.right;
+                    return;
+                }
+                TreeNode pred = current.left;
+                while (pred.right != null && pred.right != current) pred = pred.right;
+                if (pred.right == null) {
+                    pred.right = current;
+                    current = current.left;
+                } else {
+                    pred.right = null;
+                    next = current;
+                    current = current.right;
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public int nextInt() {
+            if (next == null) throw new NoSuchElementException();
+            int val = next.val;
+            advance();
+            return val;
+        }
+
+        /***
+         * Removes the threads still in the tree, leaving it exactly as before. The threaded nodes are the ancestors
+         * whose left subtree is being walked; all of them lie on the chain of right pointers starting at the current
+         * node, so only that chain (and the right spine of each left subtree on it) is walked, not the whole tree.
+         */
+        @Override
+        public void close() {
+            for (TreeNode node = current; node != null; node = node.right) {
+                if (node.left == null) continue;
+                TreeNode pred = node.left;
+                while (pred.right != null && pred.right != node) pred = pred.right;
+                if (pred.right == node) pred.right = null;
+            }
+            current = null;
+            next = null;
+        }
+    }
+}